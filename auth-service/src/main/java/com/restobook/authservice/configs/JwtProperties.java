@@ -12,4 +12,9 @@ public class JwtProperties {
     private String secret;
     private Long accessTokenExpiration;
     private Long refreshTokenExpiration;
+
+    /**
+     * Si activé, le principal est construit à partir des claims du token, sans requête en base
+     */
+    private boolean statelessAuthentication = false;
 }
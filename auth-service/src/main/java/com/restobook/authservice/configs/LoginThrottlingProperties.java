@@ -0,0 +1,44 @@
+package com.restobook.authservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "login.throttling")
+public class LoginThrottlingProperties {
+
+    /**
+     * Fenêtre glissante sur laquelle les échecs de connexion sont comptés
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    private int maxFailuresPerEmail = 5;
+
+    /**
+     * 0 : pas de limite par adresse IP. À n'activer qu'avec des proxys de confiance
+     * (X-Forwarded-For), sinon tous les clients partagent l'adresse du proxy.
+     */
+    private int maxFailuresPerIp = 0;
+
+    /**
+     * Nombre maximal de clés (emails et adresses IP) suivies en mémoire
+     */
+    private int maxKeys = 100000;
+
+    private Lockout lockout = new Lockout();
+
+    @Data
+    public static class Lockout {
+
+        /**
+         * Durée du premier verrouillage, doublée à chaque verrouillage suivant
+         */
+        private Duration baseDuration = Duration.ofMinutes(5);
+
+        private Duration maxDuration = Duration.ofHours(24);
+    }
+}
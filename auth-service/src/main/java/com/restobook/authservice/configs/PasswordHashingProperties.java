@@ -0,0 +1,52 @@
+package com.restobook.authservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "password.hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Algorithme des nouveaux hachages : bcrypt ou argon2.
+     * Les mots de passe existants sont re-hachés à la connexion suivante.
+     */
+    private String algorithm = "bcrypt";
+
+    private int bcryptStrength = 12;
+
+    private Argon2 argon2 = new Argon2();
+
+    private Executor executor = new Executor();
+
+    @Data
+    public static class Argon2 {
+
+        /**
+         * Mémoire en Kio
+         */
+        private int memory = 19456;
+        private int iterations = 2;
+        private int parallelism = 1;
+    }
+
+    @Data
+    public static class Executor {
+
+        /**
+         * Threads dédiés au hachage (0 : nombre de processeurs, 4 au plus)
+         */
+        private int threads = 0;
+
+        /**
+         * Hachages en attente au-delà desquels les requêtes sont refusées (503)
+         */
+        private int queueCapacity = 8;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.restobook.authservice.configs;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Les refresh tokens étaient stockés en clair (colonne token). Au démarrage, les lignes existantes
+ * reçoivent leur empreinte SHA-256, calculée comme dans l'application, puis la colonne est supprimée :
+ * les tokens déjà distribués restent valides.
+ */
+@Slf4j
+@Component
+public class RefreshTokenHashMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Dépendance sur l'EntityManagerFactory : la colonne token_hash a déjà été créée
+    public RefreshTokenHashMigrator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Un échec interrompt le démarrage : avec l'ancienne colonne token NOT NULL, aucun refresh token ne pourrait être créé
+    @PostConstruct
+    public void migrate() {
+        Integer legacyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'refresh_tokens' AND column_name = 'token'",
+                Integer.class);
+        if (legacyColumns == null || legacyColumns == 0) {
+            return;
+        }
+
+        int hashed = jdbcTemplate.update(
+                "UPDATE refresh_tokens SET token_hash = SHA2(token, 256) WHERE token_hash IS NULL AND token IS NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+        log.info("{} refresh tokens migrés vers leur empreinte, colonne token supprimée", hashed);
+    }
+}
@@ -0,0 +1,31 @@
+package com.restobook.authservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "refresh-token")
+public class RefreshTokenProperties {
+
+    private HotTier hotTier = new HotTier();
+
+    @Data
+    public static class HotTier {
+
+        /**
+         * Garde en mémoire les refresh tokens récemment émis (évite la recherche en base au rafraîchissement)
+         */
+        private boolean enabled = false;
+
+        private int maxSize = 10000;
+
+        /**
+         * Durée de vie d'une entrée : borne l'écart avec l'état de l'utilisateur modifié par une autre instance
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
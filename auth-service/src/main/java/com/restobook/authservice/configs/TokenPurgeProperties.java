@@ -0,0 +1,23 @@
+package com.restobook.authservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "token.purge")
+public class TokenPurgeProperties {
+
+    /**
+     * Largeur (en identifiants) de chaque tranche supprimée dans sa propre transaction
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Pause entre deux tranches, pour laisser passer les connexions et rafraîchissements
+     */
+    private Duration pause = Duration.ofMillis(100);
+}
@@ -5,6 +5,7 @@ import com.restobook.authservice.security.UserDetailsImpl;
 import com.restobook.authservice.services.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -45,10 +46,11 @@ public class AuthController {
 
     @PostMapping("/login")
     @Operation(summary = "Connexion", description = "Authentifie un utilisateur et retourne les tokens JWT")
-    public ResponseEntity<@NonNull ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<@NonNull ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                    HttpServletRequest httpRequest) {
         log.info("Requête de connexion reçue pour: {}", request.getEmail());
 
-        AuthResponse authResponse = authService.login(request);
+        AuthResponse authResponse = authService.login(request, httpRequest.getRemoteAddr());
 
         log.info("Connexion réussie pour: {}", request.getEmail());
         return ResponseEntity.ok(ApiResponse.success("Connexion réussie", authResponse));
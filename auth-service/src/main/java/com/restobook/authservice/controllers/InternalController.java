@@ -1,17 +1,22 @@
 package com.restobook.authservice.controllers;
 
+import com.restobook.authservice.dtos.AccountStatusResponse;
+import com.restobook.authservice.dtos.BatchIdsRequest;
 import com.restobook.authservice.dtos.TokenValidationResponse;
 import com.restobook.authservice.dtos.UserResponse;
 import com.restobook.authservice.services.AuthService;
 import com.restobook.authservice.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/internal")
@@ -56,6 +61,16 @@ public class InternalController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping("/users/batch")
+    @Operation(summary = "Récupérer plusieurs utilisateurs", description = "Utilisateurs indexés par ID (100 max), les IDs inconnus sont absents (usage interne)")
+    public ResponseEntity<@NonNull Map<Long, UserResponse>> getUsersBatch(@Valid @RequestBody BatchIdsRequest request) {
+        log.debug("Requête interne - Récupération groupée de {} utilisateurs", request.getIds().size());
+
+        Map<Long, UserResponse> users = userService.getUsersByIds(request.getIds());
+
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/users/email/{email}")
     @Operation(summary = "Récupérer un utilisateur par email", description = "Récupère les informations d'un utilisateur par son email (usage interne)")
     public ResponseEntity<@NonNull UserResponse> getUserByEmail(@PathVariable String email) {
@@ -79,6 +94,16 @@ public class InternalController {
         }
     }
 
+    @GetMapping("/users/{id}/status")
+    @Operation(summary = "Statut d'un compte", description = "Indique si un utilisateur existe, est actif et non verrouillé (révocation des tokens vérifiés localement)")
+    public ResponseEntity<@NonNull AccountStatusResponse> getAccountStatus(@PathVariable Long id) {
+        log.debug("Requête interne - Statut du compte ID: {}", id);
+
+        AccountStatusResponse status = userService.getAccountStatus(id);
+
+        return ResponseEntity.ok(status);
+    }
+
     private String extractToken(String authHeader) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             return authHeader.substring(7);
@@ -0,0 +1,32 @@
+package com.restobook.authservice.dtos;
+
+import com.restobook.authservice.entities.User;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountStatusResponse {
+
+    private Long userId;
+    private boolean exists;
+    private boolean enabled;
+    private boolean accountNonLocked;
+
+    public static AccountStatusResponse fromEntity(User user) {
+        return AccountStatusResponse.builder()
+                .userId(user.getId())
+                .exists(true)
+                .enabled(user.getEnabled())
+                .accountNonLocked(!user.isAccountLocked())
+                .build();
+    }
+
+    public static AccountStatusResponse notFound(Long userId) {
+        return AccountStatusResponse.builder()
+                .userId(userId)
+                .exists(false)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.restobook.authservice.dtos;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.restobook.authservice.entities.User;
+import com.restobook.authservice.security.UserDetailsImpl;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -43,4 +44,23 @@ public class UserResponse {
                 .lastLogin(user.getLastLogin())
                 .build();
     }
+
+    /**
+     * Réponse construite à partir du principal authentifié, sans relire l'utilisateur
+     */
+    public static UserResponse fromPrincipal(UserDetailsImpl userDetails, LocalDateTime lastLogin) {
+        return UserResponse.builder()
+                .id(userDetails.getId())
+                .firstName(userDetails.getFirstName())
+                .lastName(userDetails.getLastName())
+                .fullName(userDetails.getFullName())
+                .email(userDetails.getEmail())
+                .phone(userDetails.getPhone())
+                .role(userDetails.getRoleName())
+                .enabled(userDetails.getEnabled())
+                .emailVerified(userDetails.getEmailVerified())
+                .createdAt(userDetails.getCreatedAt())
+                .lastLogin(lastLogin)
+                .build();
+    }
 }
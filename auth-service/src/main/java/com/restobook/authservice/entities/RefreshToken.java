@@ -6,9 +6,7 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "refresh_tokens", indexes = {
-        @Index(name = "idx_refresh_token", columnList = "token")
-})
+@Table(name = "refresh_tokens")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +17,16 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    /**
+     * Empreinte SHA-256 (hexadécimal) du token : le token en clair n'est jamais stocké
+     */
+    @Column(name = "token_hash", unique = true, columnDefinition = "CHAR(64)")
+    private String tokenHash;
+
+    /**
+     * Token en clair, connu uniquement à la création (renvoyé au client)
+     */
+    @Transient
     private String token;
 
     @Column(name = "expiry_date", nullable = false)
@@ -2,6 +2,7 @@ package com.restobook.authservice.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -44,6 +45,17 @@ public class User {
     @Builder.Default
     private Boolean accountNonLocked = true;
 
+    /**
+     * Fin du verrouillage temporaire (échecs de connexion répétés) ; null pour un verrouillage par un administrateur
+     */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "lockout_count", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Integer lockoutCount = 0;
+
     @Column(name = "email_verified")
     @Builder.Default
     private Boolean emailVerified = false;
@@ -84,6 +96,10 @@ public class User {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public boolean isAccountLocked() {
+        return !this.accountNonLocked && (this.lockedUntil == null || this.lockedUntil.isAfter(LocalDateTime.now()));
+    }
+
     public String getFullName() {
         return this.firstName + " " + this.lastName;
     }
@@ -0,0 +1,18 @@
+package com.restobook.authservice.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceBusyException extends BusinessException {
+
+    private final Duration retryAfter;
+
+    public ServiceBusyException(Duration retryAfter) {
+        super("Service momentanément surchargé. Veuillez réessayer dans quelques instants.",
+                HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_BUSY");
+        this.retryAfter = retryAfter;
+    }
+}
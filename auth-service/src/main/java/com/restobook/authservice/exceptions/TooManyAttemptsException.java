@@ -0,0 +1,18 @@
+package com.restobook.authservice.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class TooManyAttemptsException extends BusinessException {
+
+    private final Duration retryAfter;
+
+    public TooManyAttemptsException(Duration retryAfter) {
+        super("Trop de tentatives de connexion. Veuillez réessayer plus tard.",
+                HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_ATTEMPTS");
+        this.retryAfter = retryAfter;
+    }
+}
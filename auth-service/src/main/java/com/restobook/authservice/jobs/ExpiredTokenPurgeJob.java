@@ -0,0 +1,104 @@
+package com.restobook.authservice.jobs;
+
+import com.restobook.authservice.configs.TokenPurgeProperties;
+import com.restobook.authservice.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Purge des refresh tokens expirés par tranches d'identifiants, chacune dans sa propre transaction,
+ * avec une pause entre deux tranches : jamais de verrou ni d'undo log sur toute la table.
+ * Les identifiants croissent avec la date de création et un token vit au plus JWT_REFRESH_EXPIRATION :
+ * après un passage, le plus petit identifiant restant est proche du plus ancien token encore valide.
+ * Chaque tranche étant validée, une reprise après arrêt repart donc naturellement de là où la purge s'était arrêtée.
+ */
+@Slf4j
+@Component
+public class ExpiredTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenPurgeProperties properties;
+
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLong upperBound = new AtomicLong();
+    private final Counter purged;
+    private final Counter runs;
+    private final Timer chunkTimer;
+
+    public ExpiredTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                                TokenPurgeProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.properties = properties;
+
+        this.purged = Counter.builder("refresh.tokens.purge.deleted")
+                .description("Refresh tokens expirés supprimés")
+                .register(meterRegistry);
+        this.runs = Counter.builder("refresh.tokens.purge.runs")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("refresh.tokens.purge.chunk")
+                .description("Durée de suppression d'une tranche")
+                .register(meterRegistry);
+        Gauge.builder("refresh.tokens.purge.cursor", cursor, AtomicLong::get)
+                .description("Dernier identifiant traité par la purge en cours")
+                .register(meterRegistry);
+        Gauge.builder("refresh.tokens.purge.remaining", this, job -> Math.max(0, job.upperBound.get() - job.cursor.get()))
+                .description("Identifiants restant à parcourir dans la purge en cours")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${token.purge.interval:5m}", fixedDelayString = "${token.purge.interval:5m}")
+    public void purge() {
+        Long minId = refreshTokenRepository.findMinId();
+        Long maxId = refreshTokenRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return;
+        }
+
+        // Les tokens créés pendant la purge ne sont pas concernés
+        Instant now = Instant.now();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long deleted = 0;
+
+        cursor.set(minId);
+        upperBound.set(maxId);
+        runs.increment();
+        log.debug("Purge des refresh tokens expirés: identifiants {} à {}", minId, maxId);
+
+        for (long start = minId; start <= maxId; start += chunkSize) {
+            long fromId = start;
+            long toId = start + chunkSize;
+            int count = chunkTimer.record(() -> refreshTokenRepository.deleteExpiredInRange(fromId, toId, now));
+            deleted += count;
+            purged.increment(count);
+            cursor.set(Math.min(toId, maxId));
+
+            if (count > 0 && !pause()) {
+                log.info("Purge des refresh tokens interrompue à l'identifiant {}", toId);
+                break;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("{} refresh tokens expirés supprimés", deleted);
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
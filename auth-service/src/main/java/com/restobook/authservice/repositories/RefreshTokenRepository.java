@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -15,9 +16,21 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<@NonNull RefreshToken,@NonNull  Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user u JOIN FETCH u.role WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
 
-    Optional<RefreshToken> findByTokenAndRevokedFalse(String token);
+    boolean existsByTokenHash(String tokenHash);
+
+    // Révocation conditionnelle : 0 ligne si le token a déjà été utilisé (rotation concurrente)
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.expiryDate = :now " +
+            "WHERE r.id = :id AND r.revoked = false AND r.expiryDate > :now")
+    int revokeIfActive(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.revoked = true, r.expiryDate = :now " +
+            "WHERE r.tokenHash = :tokenHash AND r.revoked = false")
+    int revokeByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
 
     @Modifying
     @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.user = :user")
@@ -27,9 +40,22 @@ public interface RefreshTokenRepository extends JpaRepository<@NonNull RefreshTo
     @Query("UPDATE RefreshToken r SET r.revoked = true, r.expiryDate = CURRENT_TIMESTAMP WHERE r.user.id = :userId")
     void revokeAllByUserId(@Param("userId") Long userId);
 
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MIN(r.id) FROM RefreshToken r")
+    Long findMinId();
+
+    @Query("SELECT MAX(r.id) FROM RefreshToken r")
+    Long findMaxId();
+
+    // Une tranche de clé primaire par transaction (purge progressive)
+    @Transactional
     @Modifying
-    @Query("DELETE FROM RefreshToken r WHERE r.expiryDate < :now")
-    int deleteExpiredTokens(@Param("now") Instant now);
+    @Query("DELETE FROM RefreshToken r WHERE r.id >= :fromId AND r.id < :toId AND r.expiryDate < :now")
+    int deleteExpiredInRange(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("now") Instant now);
 
     @Query("SELECT COUNT(r) FROM RefreshToken r WHERE r.user = :user AND r.revoked = false AND r.expiryDate > :now")
     long countActiveTokensByUser(@Param("user") User user, @Param("now") Instant now);
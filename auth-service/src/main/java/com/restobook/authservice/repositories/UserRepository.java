@@ -6,10 +6,13 @@ import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +44,20 @@ public interface UserRepository extends JpaRepository<@NonNull User,@NonNull  Lo
     @Query("SELECT u FROM User u WHERE u.enabled = :enabled")
     Page<User> findByEnabled(@Param("enabled") Boolean enabled, Pageable pageable);
 
+    @Query("SELECT u FROM User u JOIN FETCH u.role WHERE u.id IN :ids")
+    List<User> findAllWithRoleByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Connexion réussie : date de connexion et levée d'un verrouillage temporaire expiré (jamais d'un verrouillage administrateur)
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :lastLogin, u.accountNonLocked = true, u.lockedUntil = NULL, u.lockoutCount = 0 " +
+            "WHERE u.id = :id AND (u.accountNonLocked = true OR u.lockedUntil IS NOT NULL)")
+    int recordSuccessfulLogin(@Param("id") Long id, @Param("lastLogin") LocalDateTime lastLogin);
+
+    // Contexte vidé : une entité déjà chargée ne doit pas réécrire l'ancien hachage
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role.name = :roleName")
     long countByRoleName(@Param("roleName") RoleName roleName);
 }
@@ -0,0 +1,65 @@
+package com.restobook.authservice.security;
+
+import com.restobook.authservice.configs.LoginThrottlingProperties;
+import com.restobook.authservice.repositories.UserRepository;
+import com.restobook.authservice.services.RefreshTokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Verrouillage temporaire et progressif d'un compte après trop d'échecs de connexion :
+ * accountNonLocked passe à false jusqu'à lockedUntil, la durée doublant à chaque verrouillage.
+ * Un verrouillage sans date de fin (posé par un administrateur) n'est jamais levé ici.
+ */
+@Slf4j
+@Service
+public class AccountLockoutService {
+
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottlingProperties.Lockout properties;
+    private final Counter lockouts;
+
+    public AccountLockoutService(UserRepository userRepository,
+                                 RefreshTokenService refreshTokenService,
+                                 LoginThrottlingProperties loginThrottlingProperties,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.properties = loginThrottlingProperties.getLockout();
+        this.lockouts = Counter.builder("login.lockouts")
+                .register(meterRegistry);
+    }
+
+    // Transaction séparée : l'échec de connexion qui suit annule la transaction appelante
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void lock(String email) {
+        userRepository.findByEmail(email)
+                .filter(user -> !user.isAccountLocked())
+                .ifPresent(user -> {
+                    int previousLockouts = user.getLockoutCount() != null ? user.getLockoutCount() : 0;
+                    Duration duration = lockoutDuration(previousLockouts);
+
+                    user.setAccountNonLocked(false);
+                    user.setLockedUntil(LocalDateTime.now().plus(duration));
+                    user.setLockoutCount(previousLockouts + 1);
+                    userRepository.save(user);
+                    refreshTokenService.evictUserState(user.getId());
+
+                    lockouts.increment();
+                    log.warn("Compte {} verrouillé pour {} après trop d'échecs de connexion", email, duration);
+                });
+    }
+
+    private Duration lockoutDuration(int previousLockouts) {
+        Duration duration = properties.getBaseDuration().multipliedBy(1L << Math.min(previousLockouts, 20));
+        return duration.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : duration;
+    }
+}
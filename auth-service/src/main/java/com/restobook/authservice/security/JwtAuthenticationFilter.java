@@ -1,5 +1,6 @@
 package com.restobook.authservice.security;
 
+import com.restobook.authservice.configs.JwtProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final JwtProperties jwtProperties;
 
     @Override
     @NullMarked
@@ -35,12 +38,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
+            JwtPrincipal principal = StringUtils.hasText(jwt)
+                    ? jwtTokenProvider.validateAndParse(jwt).orElse(null)
+                    : null;
+
+            if (principal != null) {
+                String email = principal.email();
 
                 log.debug("Token JWT valide pour l'utilisateur: {}", email);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+                UserDetails userDetails = loadUserDetails(principal);
+                if (userDetails == null) {
+                    log.warn("Token révoqué pour l'utilisateur: {}", email);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -61,6 +73,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadUserDetails(JwtPrincipal principal) {
+        if (!jwtProperties.isStatelessAuthentication()) {
+            return userDetailsService.loadUserByUsername(principal.email());
+        }
+
+        // Mode sans état : pas de requête en base, la révocation passe par le registre en mémoire
+        if (principal.userId() == null || principal.role() == null
+                || revokedUserRegistry.isRevoked(principal.userId(), principal.issuedAt())) {
+            return null;
+        }
+        return UserDetailsImpl.fromPrincipal(principal);
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
 
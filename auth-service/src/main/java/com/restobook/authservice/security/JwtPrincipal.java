@@ -0,0 +1,16 @@
+package com.restobook.authservice.security;
+
+import java.time.Instant;
+
+/**
+ * Informations extraites d'un token JWT après une unique vérification de signature
+ */
+public record JwtPrincipal(
+        Long userId,
+        String email,
+        String role,
+        String fullName,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -9,17 +9,23 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey secretKey;
+    private final JwtParser jwtParser;
     private final JwtProperties jwtProperties;
 
     public JwtTokenProvider(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        // Le parser est immuable et thread-safe : il est construit une seule fois
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
 
     public String generateAccessToken(UserDetailsImpl userDetails) {
@@ -43,43 +49,29 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+    /**
+     * Vérifie le token une seule fois et retourne toutes les informations utiles.
+     * Lève une JwtException si le token est invalide ou expiré.
+     */
+    public JwtPrincipal parseToken(String token) {
+        Claims claims = parseClaims(token);
+
+        return new JwtPrincipal(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("fullName", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("userId", Long.class);
-    }
-
-    public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("role", String.class);
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Comme parseToken, mais retourne un Optional vide si le token est invalide
+     */
+    public Optional<JwtPrincipal> validateAndParse(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            return Optional.of(parseToken(token));
         } catch (SignatureException ex) {
             log.error("Signature JWT invalide: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -90,8 +82,30 @@ public class JwtTokenProvider {
             log.error("Token JWT non supporté: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("Claims JWT vides: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.error("Token JWT invalide: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    public String getEmailFromToken(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    public Long getUserIdFromToken(String token) {
+        return parseClaims(token).get("userId", Long.class);
+    }
+
+    public String getRoleFromToken(String token) {
+        return parseClaims(token).get("role", String.class);
+    }
+
+    public boolean validateToken(String token) {
+        return validateAndParse(token).isPresent();
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public long getAccessTokenExpiration() {
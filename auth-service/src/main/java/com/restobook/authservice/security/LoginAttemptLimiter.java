@@ -0,0 +1,237 @@
+package com.restobook.authservice.security;
+
+import com.restobook.authservice.configs.LoginThrottlingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compte les échecs de connexion par email et par adresse IP sur une fenêtre glissante,
+ * sans verrou : chaque clé a son propre compteur atomique (fenêtre courante et précédente, pondérée).
+ * Une tentative au-delà de la limite est refusée avant toute requête en base ou tout hachage.
+ * La mémoire est bornée : les fenêtres périmées sont purgées, puis des clés arbitraires si nécessaire.
+ */
+@Slf4j
+@Component
+public class LoginAttemptLimiter {
+
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+    private final LoginThrottlingProperties properties;
+    private final Clock clock;
+    private final long windowMillis;
+
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByIp;
+    private final Counter evictions;
+
+    @Autowired
+    public LoginAttemptLimiter(LoginThrottlingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginAttemptLimiter(LoginThrottlingProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.windowMillis = Math.max(1000, properties.getWindow().toMillis());
+
+        this.rejectedByEmail = Counter.builder("login.attempts.rejected")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.rejectedByIp = Counter.builder("login.attempts.rejected")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("login.throttling.evictions")
+                .register(meterRegistry);
+        Gauge.builder("login.throttling.keys", windows, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Délai à respecter si l'email ou l'adresse IP a dépassé sa limite d'échecs
+     */
+    public Optional<Duration> checkAllowed(String email, String clientIp) {
+        long now = clock.millis();
+
+        Optional<Duration> retryAfter = retryAfter(EMAIL_PREFIX + email, properties.getMaxFailuresPerEmail(), now);
+        if (retryAfter.isPresent()) {
+            rejectedByEmail.increment();
+            return retryAfter;
+        }
+        if (isIpLimitEnabled(clientIp)) {
+            retryAfter = retryAfter(IP_PREFIX + clientIp, properties.getMaxFailuresPerIp(), now);
+            retryAfter.ifPresent(delay -> rejectedByIp.increment());
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Enregistre un échec ; retourne true si la limite de l'email vient d'être atteinte
+     */
+    public boolean recordFailure(String email, String clientIp) {
+        long now = clock.millis();
+        if (isIpLimitEnabled(clientIp)) {
+            window(IP_PREFIX + clientIp).increment(now / windowMillis);
+        }
+
+        SlidingWindow emailWindow = window(EMAIL_PREFIX + email);
+        emailWindow.increment(now / windowMillis);
+        return emailWindow.estimate(now, windowMillis) >= properties.getMaxFailuresPerEmail();
+    }
+
+    public void recordSuccess(String email) {
+        windows.remove(EMAIL_PREFIX + email);
+    }
+
+    // Limite par IP optionnelle : derrière un proxy non reconnu, tous les clients partageraient la même adresse
+    private boolean isIpLimitEnabled(String clientIp) {
+        return clientIp != null && properties.getMaxFailuresPerIp() > 0;
+    }
+
+    /**
+     * Délai avant que l'estimation glissante de la clé repasse sous la limite, vide si elle y est déjà
+     */
+    private Optional<Duration> retryAfter(String key, int maxFailures, long now) {
+        SlidingWindow window = windows.get(key);
+        if (window == null || window.estimate(now, windowMillis) < maxFailures) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(window.millisUntilBelow(maxFailures, now, windowMillis)));
+    }
+
+    private SlidingWindow window(String key) {
+        SlidingWindow window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= properties.getMaxKeys()) {
+            evict();
+        }
+        return windows.computeIfAbsent(key, k -> new SlidingWindow());
+    }
+
+    private void evict() {
+        long currentWindow = clock.millis() / windowMillis;
+        int before = windows.size();
+        windows.values().removeIf(window -> window.isStale(currentWindow));
+
+        // Toujours plein : on libère un dixième des clés, quelles qu'elles soient
+        int toRemove = windows.size() - properties.getMaxKeys() * 9 / 10;
+        Iterator<String> keys = windows.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+
+        int evicted = before - windows.size();
+        evictions.increment(evicted);
+        log.debug("{} clés de limitation des connexions évincées", evicted);
+    }
+
+    /**
+     * Index de fenêtre (32 bits), compteur de la fenêtre précédente (16 bits) et de la courante (16 bits)
+     * dans un seul long, mis à jour par CAS
+     */
+    private static final class SlidingWindow {
+
+        private static final long COUNT_MASK = 0xFFFF;
+        private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+        private final AtomicLong state = new AtomicLong();
+
+        void increment(long windowIndex) {
+            long index = windowIndex & INDEX_MASK;
+            state.updateAndGet(current -> {
+                long currentIndex = current >>> 32;
+                long previous = (current >>> 16) & COUNT_MASK;
+                long count = current & COUNT_MASK;
+
+                if (currentIndex == index) {
+                    count = Math.min(count + 1, COUNT_MASK);
+                } else if (currentIndex == ((index - 1) & INDEX_MASK)) {
+                    previous = count;
+                    count = 1;
+                } else {
+                    previous = 0;
+                    count = 1;
+                }
+                return (index << 32) | (previous << 16) | count;
+            });
+        }
+
+        double estimate(long nowMillis, long windowMillis) {
+            long current = state.get();
+            long index = (nowMillis / windowMillis) & INDEX_MASK;
+            long currentIndex = current >>> 32;
+            long previous = (current >>> 16) & COUNT_MASK;
+            long count = current & COUNT_MASK;
+
+            // Part de la fenêtre précédente encore couverte par la fenêtre glissante
+            double previousWeight = 1.0 - (double) (nowMillis % windowMillis) / windowMillis;
+            if (currentIndex == index) {
+                return previous * previousWeight + count;
+            }
+            if (currentIndex == ((index - 1) & INDEX_MASK)) {
+                return count * previousWeight;
+            }
+            return 0;
+        }
+
+        /**
+         * L'estimation décroît linéairement avec la part de la fenêtre précédente encore couverte :
+         * instant où prev × (1 - f) + courant passe sous la limite, dans la fenêtre actuelle ou la suivante
+         */
+        long millisUntilBelow(int maxFailures, long nowMillis, long windowMillis) {
+            long current = state.get();
+            long nowWindow = nowMillis / windowMillis;
+            long currentIndex = current >>> 32;
+            long previous = (current >>> 16) & COUNT_MASK;
+            long count = current & COUNT_MASK;
+
+            long windowStart;
+            long decaying;
+            long remaining;
+            if (currentIndex == (nowWindow & INDEX_MASK) && count < maxFailures) {
+                // Fenêtre courante : seule la part de la fenêtre précédente décroît
+                windowStart = nowWindow * windowMillis;
+                decaying = previous;
+                remaining = maxFailures - count;
+            } else if (currentIndex == (nowWindow & INDEX_MASK)) {
+                // Limite atteinte dans la fenêtre courante : elle devient la précédente à la fenêtre suivante
+                windowStart = (nowWindow + 1) * windowMillis;
+                decaying = count;
+                remaining = maxFailures;
+            } else {
+                windowStart = nowWindow * windowMillis;
+                decaying = count;
+                remaining = maxFailures;
+            }
+
+            if (decaying == 0) {
+                return 1;
+            }
+            // prev × (1 - f) < remaining  ⇔  f > 1 - remaining / prev
+            long threshold = (long) Math.floor(windowMillis * (1.0 - (double) remaining / decaying));
+            return Math.max(1, windowStart + threshold + 1 - nowMillis);
+        }
+
+        boolean isStale(long windowIndex) {
+            long currentIndex = state.get() >>> 32;
+            long index = windowIndex & INDEX_MASK;
+            return currentIndex != index && currentIndex != ((index - 1) & INDEX_MASK);
+        }
+    }
+}
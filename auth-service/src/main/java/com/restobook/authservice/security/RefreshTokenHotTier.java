@@ -0,0 +1,106 @@
+package com.restobook.authservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restobook.authservice.configs.RefreshTokenProperties;
+import com.restobook.authservice.entities.RefreshToken;
+import com.restobook.authservice.entities.Role;
+import com.restobook.authservice.entities.User;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Refresh tokens récemment émis par cette instance, indexés par empreinte, avec l'état de l'utilisateur
+ * vérifié au rafraîchissement : une entrée trouvée évite toute requête de lecture.
+ * Ce n'est qu'un raccourci : la révocation conditionnelle en base reste l'autorité (un token révoqué
+ * par une autre instance est refusé lors de la rotation). Un token utilisé ou révoqué est retiré, ainsi que
+ * ceux d'un utilisateur modifié ou verrouillé ; la durée de vie borne l'écart avec les autres instances.
+ */
+@Slf4j
+@Component
+public class RefreshTokenHotTier {
+
+    public record Entry(Long tokenId, Instant expiryDate, UserState user) {
+    }
+
+    /**
+     * Copie détachée des champs de l'utilisateur utilisés par le rafraîchissement (contrôles, access token, réponse)
+     */
+    public record UserState(Long id, String email, String firstName, String lastName, String phone,
+                            Boolean enabled, Boolean accountNonLocked, LocalDateTime lockedUntil,
+                            Boolean emailVerified, Role role, LocalDateTime createdAt, LocalDateTime lastLogin) {
+
+        static UserState of(User user) {
+            return new UserState(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getPhone(), user.getEnabled(), user.getAccountNonLocked(), user.getLockedUntil(),
+                    user.getEmailVerified(), user.getRole(), user.getCreatedAt(), user.getLastLogin());
+        }
+
+        public User toUser() {
+            return User.builder()
+                    .id(id)
+                    .email(email)
+                    .firstName(firstName)
+                    .lastName(lastName)
+                    .phone(phone)
+                    .enabled(enabled)
+                    .accountNonLocked(accountNonLocked)
+                    .lockedUntil(lockedUntil)
+                    .emailVerified(emailVerified)
+                    .role(role)
+                    .createdAt(createdAt)
+                    .lastLogin(lastLogin)
+                    .build();
+        }
+    }
+
+    private final Cache<String, Entry> entries;
+    private final boolean enabled;
+
+    public RefreshTokenHotTier(RefreshTokenProperties refreshTokenProperties) {
+        RefreshTokenProperties.HotTier properties = refreshTokenProperties.getHotTier();
+        this.enabled = properties.isEnabled();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    public Optional<Entry> get(String tokenHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.getIfPresent(tokenHash));
+    }
+
+    /**
+     * Un utilisateur non chargé (référence posée à la connexion) n'est pas lu : le token entre
+     * dans le tier à sa première rotation
+     */
+    public void put(RefreshToken refreshToken, User user) {
+        if (!enabled || !Hibernate.isInitialized(user) || !Hibernate.isInitialized(user.getRole())) {
+            return;
+        }
+        entries.put(refreshToken.getTokenHash(),
+                new Entry(refreshToken.getId(), refreshToken.getExpiryDate(), UserState.of(user)));
+    }
+
+    public void remove(String tokenHash) {
+        if (!enabled) {
+            return;
+        }
+        entries.invalidate(tokenHash);
+    }
+
+    public void removeAll(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        entries.asMap().values().removeIf(entry -> entry.user().id().equals(userId));
+    }
+}
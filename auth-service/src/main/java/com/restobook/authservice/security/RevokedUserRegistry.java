@@ -0,0 +1,46 @@
+package com.restobook.authservice.security;
+
+import com.restobook.authservice.configs.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Utilisateurs dont les access tokens émis avant une date donnée ne sont plus acceptés
+ * (compte désactivé, supprimé, rôle modifié). Utilisé par l'authentification sans état,
+ * qui ne relit pas l'utilisateur en base à chaque requête.
+ * Une entrée n'est utile que pendant la durée de vie d'un access token, elle est ensuite purgée.
+ */
+@Slf4j
+@Component
+public class RevokedUserRegistry {
+
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final JwtProperties jwtProperties;
+
+    public RevokedUserRegistry(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    public void revoke(Long userId) {
+        purgeExpiredEntries();
+        revokedBefore.put(userId, Instant.now());
+        log.debug("Access tokens de l'utilisateur {} révoqués", userId);
+    }
+
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Instant revokedAt = revokedBefore.get(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.isBefore(revokedAt);
+    }
+
+    private void purgeExpiredEntries() {
+        Instant limit = Instant.now().minusMillis(jwtProperties.getAccessTokenExpiration());
+        revokedBefore.values().removeIf(revokedAt -> revokedAt.isBefore(limit));
+    }
+}
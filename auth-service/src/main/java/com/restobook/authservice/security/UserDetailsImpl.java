@@ -3,11 +3,14 @@ package com.restobook.authservice.security;
 import com.restobook.authservice.entities.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.With;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -18,11 +21,15 @@ public class UserDetailsImpl implements UserDetails {
 
     private final Long id;
     private final String email;
+    @With
     private final String password;
     private final String firstName;
     private final String lastName;
+    private final @Nullable String phone;
     private final Boolean enabled;
     private final Boolean accountNonLocked;
+    private final @Nullable Boolean emailVerified;
+    private final @Nullable LocalDateTime createdAt;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public static UserDetailsImpl build(User user) {
@@ -36,12 +43,35 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.getFirstName(),
                 user.getLastName(),
+                user.getPhone(),
                 user.getEnabled(),
-                user.getAccountNonLocked(),
+                !user.isAccountLocked(),
+                user.getEmailVerified(),
+                user.getCreatedAt(),
                 authorities
         );
     }
 
+    /**
+     * Construit le principal à partir d'un token déjà vérifié, sans accès à la base.
+     * Le token ne contenant que le nom complet, il est porté par firstName.
+     */
+    public static UserDetailsImpl fromPrincipal(JwtPrincipal principal) {
+        return new UserDetailsImpl(
+                principal.userId(),
+                principal.email(),
+                "",
+                principal.fullName() != null ? principal.fullName() : "",
+                "",
+                null,
+                true,
+                true,
+                null,
+                null,
+                List.of(new SimpleGrantedAuthority(principal.role()))
+        );
+    }
+
     @Override
     @NullMarked
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -79,7 +109,14 @@ public class UserDetailsImpl implements UserDetails {
         return enabled;
     }
 
+    /**
+     * Nom du rôle, sans le préfixe ROLE_
+     */
+    public String getRoleName() {
+        return authorities.iterator().next().getAuthority().substring("ROLE_".length());
+    }
+
     public String getFullName() {
-        return firstName + " " + lastName;
+        return lastName.isEmpty() ? firstName : firstName + " " + lastName;
     }
 }
@@ -4,7 +4,9 @@ import com.restobook.authservice.entities.User;
 import com.restobook.authservice.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,7 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -31,4 +33,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         log.debug("Utilisateur trouvé: {} avec rôle: {}", user.getEmail(), user.getRole().getName());
         return UserDetailsImpl.build(user);
     }
+
+    /**
+     * Appelé après une connexion réussie lorsque le hachage stocké n'utilise plus l'algorithme ou le coût configuré
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, @Nullable String newPassword) {
+        UserDetailsImpl userDetails = (UserDetailsImpl) user;
+        userRepository.updatePassword(userDetails.getId(), newPassword);
+        log.info("Mot de passe re-haché pour l'utilisateur: {}", userDetails.getEmail());
+
+        return userDetails.withPassword(newPassword);
+    }
 }
@@ -10,9 +10,9 @@ public interface AuthService {
     UserResponse register(RegisterRequest request);
 
     /**
-     * Connexion d'un utilisateur
+     * Connexion d'un utilisateur (échecs limités par email et par adresse IP)
      */
-    AuthResponse login(LoginRequest request);
+    AuthResponse login(LoginRequest request, String clientIp);
 
     /**
      * Rafraîchissement du token d'accès
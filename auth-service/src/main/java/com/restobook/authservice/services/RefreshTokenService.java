@@ -15,6 +15,11 @@ public interface RefreshTokenService {
      */
     RefreshToken validateRefreshToken(String token);
 
+    /**
+     * Révoque le refresh token (s'il n'a pas déjà été utilisé) et en crée un nouveau, dans la même transaction
+     */
+    RefreshToken rotateRefreshToken(RefreshToken refreshToken);
+
     /**
      * Révoque un refresh token spécifique
      */
@@ -26,7 +31,12 @@ public interface RefreshTokenService {
     void revokeAllUserTokens(Long userId);
 
     /**
-     * Supprime les tokens expirés
+     * Supprime tous les refresh tokens d'un utilisateur (avant sa suppression)
+     */
+    int deleteAllUserTokens(Long userId);
+
+    /**
+     * Oublie l'état de l'utilisateur gardé avec ses tokens après une modification de son compte
      */
-    int deleteExpiredTokens();
+    void evictUserState(Long userId);
 }
@@ -4,6 +4,9 @@ import com.restobook.authservice.dtos.*;
 import com.restobook.authservice.enums.RoleName;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Map;
+
 public interface UserService {
 
     /**
@@ -11,11 +14,21 @@ public interface UserService {
      */
     UserResponse getUserById(Long id);
 
+    /**
+     * Utilisateurs indexés par ID, dans l'ordre de la demande (IDs inconnus absents)
+     */
+    Map<Long, UserResponse> getUsersByIds(List<Long> ids);
+
     /**
      * Récupère un utilisateur par son email
      */
     UserResponse getUserByEmail(String email);
 
+    /**
+     * Récupère le statut du compte d'un utilisateur (existence, activation, verrouillage)
+     */
+    AccountStatusResponse getAccountStatus(Long id);
+
     /**
      * Récupère le profil de l'utilisateur connecté
      */
@@ -8,7 +8,10 @@ import com.restobook.authservice.enums.RoleName;
 import com.restobook.authservice.exceptions.*;
 import com.restobook.authservice.repositories.RoleRepository;
 import com.restobook.authservice.repositories.UserRepository;
+import com.restobook.authservice.security.AccountLockoutService;
+import com.restobook.authservice.security.JwtPrincipal;
 import com.restobook.authservice.security.JwtTokenProvider;
+import com.restobook.authservice.security.LoginAttemptLimiter;
 import com.restobook.authservice.security.UserDetailsImpl;
 import com.restobook.authservice.services.AuthService;
 import com.restobook.authservice.services.RefreshTokenService;
@@ -19,6 +22,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 
@@ -33,9 +37,12 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
+    private final LoginAttemptLimiter loginAttemptLimiter;
+    private final AccountLockoutService accountLockoutService;
+    private final TransactionTemplate transactionTemplate;
 
+    // Sans transaction englobante : aucune connexion n'est retenue pendant le hachage du mot de passe
     @Override
-    @Transactional
     public UserResponse register(RegisterRequest request) {
         log.info("Tentative d'inscription pour l'email: {}", request.getEmail());
 
@@ -78,31 +85,38 @@ public class AuthServiceImpl implements AuthService {
         return UserResponse.fromEntity(savedUser);
     }
 
+    // Sans transaction englobante : la vérification du mot de passe (file de hachage comprise)
+    // ne retient aucune connexion du pool, seules les écritures qui suivent sont transactionnelles
     @Override
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         String email = request.getEmail().toLowerCase().trim();
         log.info("Tentative de connexion pour l'email: {}", email);
 
+        // Refus avant toute requête en base ou tout hachage
+        loginAttemptLimiter.checkAllowed(email, clientIp).ifPresent(retryAfter -> {
+            log.warn("Trop d'échecs de connexion pour: {} (IP: {})", email, clientIp);
+            throw new TooManyAttemptsException(retryAfter);
+        });
+
         try {
             // Authentifier l'utilisateur
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(email, request.getPassword())
             );
 
+            // Principal chargé par l'authentification : l'utilisateur n'est pas relu
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-            // Récupérer l'utilisateur pour mise à jour
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "email", email));
+            // Mettre à jour la date de dernière connexion (et lever un éventuel verrouillage expiré), créer le refresh token
+            LocalDateTime lastLogin = LocalDateTime.now();
+            RefreshToken refreshToken = transactionTemplate.execute(status -> {
+                userRepository.recordSuccessfulLogin(userDetails.getId(), lastLogin);
+                return refreshTokenService.createRefreshToken(userRepository.getReferenceById(userDetails.getId()));
+            });
+            loginAttemptLimiter.recordSuccess(email);
 
-            // Mettre à jour la date de dernière connexion
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
-
-            // Générer les tokens
+            // Générer l'access token
             String accessToken = jwtTokenProvider.generateAccessToken(userDetails);
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(user);
 
             log.info("Connexion réussie pour: {}", email);
 
@@ -110,7 +124,7 @@ public class AuthServiceImpl implements AuthService {
                     accessToken,
                     refreshToken.getToken(),
                     jwtTokenProvider.getAccessTokenExpiration(),
-                    UserResponse.fromEntity(user)
+                    UserResponse.fromPrincipal(userDetails, lastLogin)
             );
 
         } catch (DisabledException ex) {
@@ -121,6 +135,9 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountLockedException();
         } catch (BadCredentialsException ex) {
             log.warn("Échec d'authentification pour: {}", email);
+            if (loginAttemptLimiter.recordFailure(email, clientIp)) {
+                accountLockoutService.lock(email);
+            }
             throw new InvalidCredentialsException();
         }
     }
@@ -141,7 +158,7 @@ public class AuthServiceImpl implements AuthService {
             throw new AccountDisabledException();
         }
 
-        if (!user.getAccountNonLocked()) {
+        if (user.isAccountLocked()) {
             log.warn("Tentative de rafraîchissement pour un compte verrouillé: {}", user.getEmail());
             refreshTokenService.revokeRefreshToken(request.getRefreshToken());
             throw new AccountLockedException();
@@ -152,8 +169,7 @@ public class AuthServiceImpl implements AuthService {
         String newAccessToken = jwtTokenProvider.generateAccessToken(userDetails);
 
         // Révoquer l'ancien refresh token et en créer un nouveau
-        refreshTokenService.revokeRefreshToken(request.getRefreshToken());
-        RefreshToken newRefreshToken = refreshTokenService.createRefreshToken(user);
+        RefreshToken newRefreshToken = refreshTokenService.rotateRefreshToken(oldRefreshToken);
 
         log.info("Token rafraîchi avec succès pour: {} (rotation effectuée)", user.getEmail());
 
@@ -207,15 +223,16 @@ public class AuthServiceImpl implements AuthService {
             return TokenValidationResponse.invalid("Token manquant");
         }
 
-        if (!jwtTokenProvider.validateToken(token)) {
+        JwtPrincipal principal = jwtTokenProvider.validateAndParse(token).orElse(null);
+        if (principal == null) {
             log.warn("Token invalide ou expiré");
             return TokenValidationResponse.invalid("Token invalide ou expiré");
         }
 
         try {
-            Long userId = jwtTokenProvider.getUserIdFromToken(token);
-            String email = jwtTokenProvider.getEmailFromToken(token);
-            String role = jwtTokenProvider.getRoleFromToken(token);
+            Long userId = principal.userId();
+            String email = principal.email();
+            String role = principal.role();
 
             // Vérifier que l'utilisateur existe toujours et est actif
             User user = userRepository.findById(userId).orElse(null);
@@ -229,7 +246,7 @@ public class AuthServiceImpl implements AuthService {
                 return TokenValidationResponse.invalid("Compte désactivé");
             }
 
-            if (!user.getAccountNonLocked()) {
+            if (user.isAccountLocked()) {
                 log.warn("Utilisateur verrouillé: {}", email);
                 return TokenValidationResponse.invalid("Compte verrouillé");
             }
@@ -4,39 +4,59 @@ import com.restobook.authservice.entities.RefreshToken;
 import com.restobook.authservice.entities.User;
 import com.restobook.authservice.exceptions.InvalidTokenException;
 import com.restobook.authservice.repositories.RefreshTokenRepository;
+import com.restobook.authservice.repositories.UserRepository;
 import com.restobook.authservice.security.JwtTokenProvider;
+import com.restobook.authservice.security.RefreshTokenHotTier;
 import com.restobook.authservice.services.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final RefreshTokenHotTier hotTier;
     private final JwtTokenProvider jwtTokenProvider;
 
     @Override
     @Transactional
     public RefreshToken createRefreshToken(User user) {
-        log.debug("Création d'un refresh token pour l'utilisateur: {}", user.getEmail());
+        log.debug("Création d'un refresh token pour l'utilisateur ID: {}", user.getId());
+
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(randomBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
 
+        // Référence sans requête : l'utilisateur passé peut venir du tier mémoire
         RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
+                .user(userRepository.getReferenceById(user.getId()))
+                .tokenHash(hash(token))
                 .expiryDate(Instant.now().plusMillis(jwtTokenProvider.getRefreshTokenExpiration()))
                 .revoked(false)
                 .build();
 
         RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
-        log.debug("Refresh token créé avec succès pour: {}", user.getEmail());
+        savedToken.setToken(token);
+        afterCommit(() -> hotTier.put(savedToken, user));
+        log.debug("Refresh token créé avec succès pour l'utilisateur ID: {}", user.getId());
 
         return savedToken;
     }
@@ -51,7 +71,10 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new InvalidTokenException("Refresh token requis");
         }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        String tokenHash = hash(token);
+        RefreshToken refreshToken = hotTier.get(tokenHash)
+                .map(entry -> fromHotTier(tokenHash, entry))
+                .or(() -> refreshTokenRepository.findWithUserByTokenHash(tokenHash))
                 .orElseThrow(() -> {
                     log.warn("Refresh token non trouvé dans la base de données");
                     return new InvalidTokenException("Refresh token invalide");
@@ -80,6 +103,22 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         return refreshToken;
     }
 
+    @Override
+    @Transactional
+    public RefreshToken rotateRefreshToken(RefreshToken refreshToken) {
+        log.debug("Rotation du refresh token pour l'utilisateur: {}", refreshToken.getUser().getEmail());
+
+        // Une seule requête concurrente peut consommer le token : les autres ne révoquent aucune ligne
+        if (refreshTokenRepository.revokeIfActive(refreshToken.getId(), Instant.now()) == 0) {
+            log.warn("Refresh token déjà utilisé ou révoqué pour l'utilisateur: {}", refreshToken.getUser().getEmail());
+            throw new InvalidTokenException("Ce refresh token a été révoqué. Veuillez vous reconnecter.");
+        }
+        String tokenHash = refreshToken.getTokenHash();
+        afterCommit(() -> hotTier.remove(tokenHash));
+
+        return createRefreshToken(refreshToken.getUser());
+    }
+
     @Override
     @Transactional
     public void revokeRefreshToken(String token) {
@@ -90,24 +129,19 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new InvalidTokenException("Refresh token requis");
         }
 
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
-                .orElseThrow(() -> {
-                    log.warn("Tentative de révocation d'un token inexistant");
-                    return new InvalidTokenException("Refresh token non trouvé");
-                });
-
-        // Vérifier si déjà révoqué
-        if (refreshToken.getRevoked()) {
+        String tokenHash = hash(token);
+        if (refreshTokenRepository.revokeByTokenHash(tokenHash, Instant.now()) == 0) {
+            if (!refreshTokenRepository.existsByTokenHash(tokenHash)) {
+                log.warn("Tentative de révocation d'un token inexistant");
+                throw new InvalidTokenException("Refresh token non trouvé");
+            }
+            // Déjà révoqué
             log.info("Token déjà révoqué, aucune action nécessaire");
             return;
         }
+        afterCommit(() -> hotTier.remove(tokenHash));
 
-        refreshToken.setRevoked(true);
-        refreshToken.setExpiryDate(Instant.now());
-        refreshTokenRepository.save(refreshToken);
-
-        log.info("Refresh token révoqué avec succès pour l'utilisateur: {}",
-                refreshToken.getUser().getEmail());
+        log.info("Refresh token révoqué avec succès");
     }
 
     @Override
@@ -115,16 +149,57 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     public void revokeAllUserTokens(Long userId) {
         log.info("Révocation de tous les tokens pour l'utilisateur ID: {}", userId);
         refreshTokenRepository.revokeAllByUserId(userId);
+        afterCommit(() -> hotTier.removeAll(userId));
         log.info("Tous les tokens ont été révoqués pour l'utilisateur ID: {}", userId);
     }
 
     @Override
     @Transactional
-    @Scheduled(cron = "${token.cleanup.cron:0 0 2 * * ?}")
-    public int deleteExpiredTokens() {
-        log.info("Nettoyage des tokens expirés");
-        int deletedCount = refreshTokenRepository.deleteExpiredTokens(Instant.now());
-        log.info("{} tokens expirés supprimés", deletedCount);
+    public int deleteAllUserTokens(Long userId) {
+        int deletedCount = refreshTokenRepository.deleteAllByUserId(userId);
+        afterCommit(() -> hotTier.removeAll(userId));
+        log.info("{} refresh tokens supprimés pour l'utilisateur ID: {}", deletedCount, userId);
         return deletedCount;
     }
+
+    @Override
+    public void evictUserState(Long userId) {
+        afterCommit(() -> hotTier.removeAll(userId));
+    }
+
+    /**
+     * Le token revient du tier mémoire avec l'état de l'utilisateur : aucune requête
+     */
+    private RefreshToken fromHotTier(String tokenHash, RefreshTokenHotTier.Entry entry) {
+        return RefreshToken.builder()
+                .id(entry.tokenId())
+                .tokenHash(tokenHash)
+                .expiryDate(entry.expiryDate())
+                .revoked(false)
+                .user(entry.user().toUser())
+                .build();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    // Le tier mémoire ne reflète que ce qui a été validé en base
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
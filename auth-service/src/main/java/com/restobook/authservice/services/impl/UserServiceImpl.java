@@ -9,6 +9,7 @@ import com.restobook.authservice.exceptions.DuplicateResourceException;
 import com.restobook.authservice.exceptions.ResourceNotFoundException;
 import com.restobook.authservice.repositories.RoleRepository;
 import com.restobook.authservice.repositories.UserRepository;
+import com.restobook.authservice.security.RevokedUserRegistry;
 import com.restobook.authservice.services.RefreshTokenService;
 import com.restobook.authservice.services.UserService;
 import lombok.NonNull;
@@ -20,6 +21,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -30,6 +38,8 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
     private final RefreshTokenService refreshTokenService;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -61,6 +71,32 @@ public class UserServiceImpl implements UserService {
         return UserResponse.fromEntity(user);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, UserResponse> getUsersByIds(List<Long> ids) {
+        log.debug("Recherche groupée de {} utilisateurs", ids.size());
+
+        Map<Long, User> users = userRepository.findAllWithRoleByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<Long, UserResponse> ordered = new LinkedHashMap<>();
+        ids.stream().distinct()
+                .filter(users::containsKey)
+                .forEach(id -> ordered.put(id, UserResponse.fromEntity(users.get(id))));
+        return ordered;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountStatusResponse getAccountStatus(Long id) {
+        log.debug("Récupération du statut du compte ID: {}", id);
+
+        return userRepository.findById(id)
+                .map(AccountStatusResponse::fromEntity)
+                .orElseGet(() -> AccountStatusResponse.notFound(id));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser(Long userId) {
@@ -96,13 +132,14 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        refreshTokenService.evictUserState(userId);
         log.info("Profil mis à jour avec succès pour: {}", user.getEmail());
 
         return UserResponse.fromEntity(updatedUser);
     }
 
+    // Sans transaction englobante : aucune connexion n'est retenue pendant les hachages
     @Override
-    @Transactional
     public void changePassword(Long userId, ChangePasswordRequest request) {
         log.info("Changement de mot de passe pour l'utilisateur ID: {}", userId);
 
@@ -127,11 +164,13 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("Le nouveau mot de passe doit être différent de l'ancien", HttpStatus.BAD_REQUEST, "SAME_PASSWORD");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        userRepository.save(user);
+        String encodedPassword = passwordEncoder.encode(request.getNewPassword());
 
-        // Révoquer tous les refresh tokens existants
-        refreshTokenService.revokeAllUserTokens(userId);
+        // Enregistrer le mot de passe et révoquer tous les refresh tokens existants
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.updatePassword(userId, encodedPassword);
+            refreshTokenService.revokeAllUserTokens(userId);
+        });
 
         log.info("Mot de passe changé avec succès pour: {}", user.getEmail());
     }
@@ -173,8 +212,8 @@ public class UserServiceImpl implements UserService {
         return PageResponse.of(responsePage);
     }
 
+    // Sans transaction englobante : aucune connexion n'est retenue pendant le hachage du mot de passe
     @Override
-    @Transactional
     public UserResponse createUser(CreateUserRequest request) {
         log.info("Création d'un nouvel utilisateur par admin: {}", request.getEmail());
 
@@ -238,6 +277,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        refreshTokenService.evictUserState(id);
         log.info("Utilisateur mis à jour avec succès: {}", user.getEmail());
 
         return UserResponse.fromEntity(updatedUser);
@@ -259,6 +299,7 @@ public class UserServiceImpl implements UserService {
 
         // Révoquer les tokens existants
         refreshTokenService.revokeAllUserTokens(id);
+        revokedUserRegistry.revoke(id);
 
         log.info("Rôle de l'utilisateur {} mis à jour vers: {}", user.getEmail(), newRole.getName());
 
@@ -293,6 +334,7 @@ public class UserServiceImpl implements UserService {
 
         // Révoquer tous les tokens
         refreshTokenService.revokeAllUserTokens(id);
+        revokedUserRegistry.revoke(id);
 
         log.info("Utilisateur désactivé: {}", user.getEmail());
         return UserResponse.fromEntity(updatedUser);
@@ -306,12 +348,9 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "id", id));
 
-        // Révoquer tous les tokens avant la suppression
-        refreshTokenService.revokeAllUserTokens(id);
-
-        // Supprimer tous les tokens expirés
-        int deleteTokenExpired = refreshTokenService.deleteExpiredTokens();
-        log.info("Total : {} tokens expired deleted", deleteTokenExpired);
+        // Supprimer les refresh tokens de l'utilisateur avant la suppression
+        refreshTokenService.deleteAllUserTokens(id);
+        revokedUserRegistry.revoke(id);
 
         userRepository.delete(user);
         log.info("Utilisateur supprimé: {}", user.getEmail());
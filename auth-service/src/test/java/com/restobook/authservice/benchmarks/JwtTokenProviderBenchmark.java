@@ -0,0 +1,82 @@
+package com.restobook.authservice.benchmarks;
+
+import com.restobook.authservice.configs.JwtProperties;
+import com.restobook.authservice.security.JwtPrincipal;
+import com.restobook.authservice.security.JwtTokenProvider;
+import com.restobook.authservice.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la validation d'un token avant (4 parsers construits et 4 vérifications HMAC)
+ * et après (un parser pré-construit et une seule vérification).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1zZWNyZXQta2V5LWZvci1yZXN0b2Jvb2stYXV0aC1zZXJ2aWNl";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private SecretKey secretKey;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpiration(900_000L);
+        properties.setRefreshTokenExpiration(604_800_000L);
+
+        jwtTokenProvider = new JwtTokenProvider(properties);
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+        UserDetailsImpl userDetails = new UserDetailsImpl(
+                42L, "client@example.fr", "", "Jean", "Dupont", null, true, true, false, null,
+                List.of(new SimpleGrantedAuthority("ROLE_CLIENT")));
+        token = jwtTokenProvider.generateAccessToken(userDetails);
+    }
+
+    @Benchmark
+    public void beforeFourParses(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token));
+        blackhole.consume(legacyParse(token).get("userId", Long.class));
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtPrincipal afterSingleParse() {
+        return jwtTokenProvider.parseToken(token);
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
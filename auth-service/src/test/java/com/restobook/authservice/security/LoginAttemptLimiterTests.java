@@ -0,0 +1,182 @@
+package com.restobook.authservice.security;
+
+import com.restobook.authservice.configs.LoginThrottlingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compteur glissant par clé : bascule de fenêtre, plafond du compteur 16 bits, délai d'attente et éviction
+ */
+class LoginAttemptLimiterTests {
+
+    private static final long WINDOW = Duration.ofMinutes(1).toMillis();
+    // Début d'une fenêtre quelconque
+    private static final long START = 1000 * WINDOW;
+
+    private final MutableClock clock = new MutableClock(START);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void failuresOfPreviousWindowAreWeightedThenForgotten() {
+        LoginAttemptLimiter limiter = limiter(2, 100);
+        fail(limiter, "client@test.com", 4);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isPresent();
+
+        // Moitié de la fenêtre suivante : 4 × 0,5 = 2, toujours à la limite
+        clock.set(START + WINDOW + WINDOW / 2);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isPresent();
+
+        // Trois quarts : 4 × 0,25 = 1
+        clock.set(START + WINDOW + WINDOW * 3 / 4);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isEmpty();
+
+        // Deux fenêtres plus tard, les anciens échecs ne comptent plus
+        clock.set(START + 2 * WINDOW);
+        assertThat(limiter.recordFailure("client@test.com", null)).isFalse();
+        assertThat(limiter.checkAllowed("client@test.com", null)).isEmpty();
+    }
+
+    @Test
+    void retryAfterEndsWhenSlidingEstimateDropsBelowLimit() {
+        LoginAttemptLimiter limiter = limiter(5, 100);
+        fail(limiter, "client@test.com", 4);
+
+        // 10 % de la fenêtre suivante : 4 × 0,9 + 2 = 5,6 ; sous 5 dès que 4 × (1 - f) < 3, soit f > 25 %
+        clock.set(START + WINDOW + WINDOW / 10);
+        fail(limiter, "client@test.com", 2);
+
+        Optional<Duration> retryAfter = limiter.checkAllowed("client@test.com", null);
+        assertThat(retryAfter).contains(Duration.ofMillis(WINDOW / 4 - WINDOW / 10 + 1));
+
+        long retryAt = clock.millis() + retryAfter.orElseThrow().toMillis();
+        clock.set(retryAt - 1);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isPresent();
+        clock.set(retryAt);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isEmpty();
+    }
+
+    @Test
+    void retryAfterSpansIntoNextWindowWhenCurrentWindowIsOverLimit() {
+        LoginAttemptLimiter limiter = limiter(5, 100);
+        clock.set(START + WINDOW / 2);
+        fail(limiter, "client@test.com", 10);
+
+        // Dans la fenêtre suivante : 10 × (1 - f) < 5 pour f > 50 %
+        Optional<Duration> retryAfter = limiter.checkAllowed("client@test.com", null);
+        assertThat(retryAfter).contains(Duration.ofMillis(WINDOW + 1));
+
+        long retryAt = clock.millis() + retryAfter.orElseThrow().toMillis();
+        clock.set(retryAt - 1);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isPresent();
+        clock.set(retryAt);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isEmpty();
+    }
+
+    @Test
+    void countIsCappedAtSixteenBits() {
+        LoginAttemptLimiter limiter = limiter(0xFFFF, 100);
+        fail(limiter, "client@test.com", 70000);
+
+        // Sans plafond, le compteur reviendrait à 4464 et déborderait sur la fenêtre précédente
+        assertThat(limiter.recordFailure("client@test.com", null)).isTrue();
+
+        clock.set(START + WINDOW);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isPresent();
+
+        clock.set(START + 2 * WINDOW);
+        assertThat(limiter.checkAllowed("client@test.com", null)).isEmpty();
+    }
+
+    @Test
+    void staleWindowsAreEvictedFirstWhenFull() {
+        LoginAttemptLimiter limiter = limiter(5, 10);
+        for (int i = 0; i < 9; i++) {
+            limiter.recordFailure("stale" + i + "@test.com", null);
+        }
+
+        clock.set(START + 2 * WINDOW);
+        fail(limiter, "target@test.com", 5);
+        limiter.recordFailure("new@test.com", null);
+
+        assertThat(keys()).isEqualTo(2);
+        assertThat(evictions()).isEqualTo(9);
+        assertThat(limiter.checkAllowed("target@test.com", null)).isPresent();
+    }
+
+    @Test
+    void tenthOfKeysIsEvictedWhenNoWindowIsStale() {
+        LoginAttemptLimiter limiter = limiter(5, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailure("client" + i + "@test.com", null);
+        }
+
+        limiter.recordFailure("new@test.com", null);
+
+        assertThat(keys()).isEqualTo(10);
+        assertThat(evictions()).isEqualTo(1);
+    }
+
+    private LoginAttemptLimiter limiter(int maxFailuresPerEmail, int maxKeys) {
+        LoginThrottlingProperties properties = new LoginThrottlingProperties();
+        properties.setWindow(Duration.ofMillis(WINDOW));
+        properties.setMaxFailuresPerEmail(maxFailuresPerEmail);
+        properties.setMaxKeys(maxKeys);
+        return new LoginAttemptLimiter(properties, meterRegistry, clock);
+    }
+
+    private static void fail(LoginAttemptLimiter limiter, String email, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.recordFailure(email, null);
+        }
+    }
+
+    private double keys() {
+        return meterRegistry.get("login.throttling.keys").gauge().value();
+    }
+
+    private double evictions() {
+        return meterRegistry.get("login.throttling.evictions").counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void set(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compare le restaurant-service en threads plateforme puis en virtual threads.
+# Pré-requis : MySQL et auth-service démarrés, k6 installé, jar construit (mvn package).
+# Usage : ./compare-threads.sh [VUS] [DURATION]
+set -euo pipefail
+
+VUS="${1:-1000}"
+DURATION="${2:-2m}"
+PORT="${RESTAURANT_SERVICE_PORT:-8082}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/restaurant-service/target/restaurant-service-*.jar | grep -v plain | head -1)"
+RESULTS="$ROOT/load-tests/results"
+
+mkdir -p "$RESULTS"
+
+wait_for_health() {
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Le service n'a pas démarré" >&2
+    return 1
+}
+
+for mode in platform virtual; do
+    virtual=false
+    [ "$mode" = "virtual" ] && virtual=true
+
+    echo "=== Mode $mode (virtual threads: $virtual) ==="
+    VIRTUAL_THREADS_ENABLED="$virtual" java \
+        -XX:StartFlightRecording=filename="$RESULTS/$mode.jfr",settings=profile \
+        -jar "$JAR" > "$RESULTS/$mode.log" 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    wait_for_health
+
+    k6 run --quiet \
+        -e BASE_URL="http://localhost:$PORT" -e VUS="$VUS" -e DURATION="$DURATION" -e TOKEN="${TOKEN:-}" \
+        --summary-export "$RESULTS/$mode-summary.json" \
+        "$ROOT/load-tests/restaurants.js" || true
+
+    # Épinglage des virtual threads sur leur carrier (attendu : aucun événement en Java 25)
+    jfr print --events jdk.VirtualThreadPinned "$RESULTS/$mode.jfr" > "$RESULTS/$mode-pinned.txt" 2>/dev/null || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+done
+
+for mode in platform virtual; do
+    echo "--- $mode ---"
+    jq -r '"p95: \(.metrics.http_req_duration."p(95)") ms | p99: \(.metrics.http_req_duration."p(99)") ms | req/s: \(.metrics.http_reqs.rate) | échecs: \(.metrics.http_req_failed.value)"' \
+        "$RESULTS/$mode-summary.json"
+    echo "événements d'épinglage: $(grep -c 'jdk.VirtualThreadPinned' "$RESULTS/$mode-pinned.txt" || true)"
+done
@@ -0,0 +1,47 @@
+// Test de charge k6 : lectures publiques et authentifiées sur le restaurant-service.
+// Variables : BASE_URL, TOKEN (access token optionnel), VUS, DURATION
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const TOKEN = __ENV.TOKEN || '';
+
+export const options = {
+    discardResponseBodies: true,
+    scenarios: {
+        lecture: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 1000) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 1000) },
+                { duration: '15s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<1000'],
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export default function () {
+    const page = Math.floor(Math.random() * 5);
+    const list = http.get(`${BASE_URL}/api/v1/restaurants?page=${page}&size=20`, { tags: { name: 'list' } });
+    check(list, { 'liste 200': (r) => r.status === 200 });
+
+    const id = 1 + Math.floor(Math.random() * 50);
+    const menu = http.get(`${BASE_URL}/api/v1/restaurants/${id}/menu`, { tags: { name: 'menu' } });
+    check(menu, { 'menu 200/404': (r) => r.status === 200 || r.status === 404 });
+
+    if (TOKEN) {
+        // Passe par la validation du token (auth service ou vérification locale)
+        const mine = http.get(`${BASE_URL}/api/v1/restaurants/my-restaurants`, {
+            headers: { Authorization: `Bearer ${TOKEN}` },
+            tags: { name: 'my-restaurants' },
+        });
+        check(mine, { 'authentifié 200/403': (r) => r.status === 200 || r.status === 403 });
+    }
+}
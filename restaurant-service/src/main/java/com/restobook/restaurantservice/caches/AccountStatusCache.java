@@ -0,0 +1,53 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.configs.AuthServiceProperties;
+import com.restobook.restaurantservice.dtos.response.AccountStatusResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache du statut des comptes utilisateurs (révocation, désactivation, verrouillage)
+ * pour éviter un appel à l'auth service à chaque requête authentifiée.
+ */
+@Component
+public class AccountStatusCache {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public AccountStatusCache(AuthServiceProperties properties) {
+        this.ttlNanos = properties.getAccountStatusTtl().toNanos();
+        this.maxSize = properties.getAccountStatusCacheSize();
+    }
+
+    public AccountStatusResponse get(Long userId, Function<Long, AccountStatusResponse> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            return entry.status();
+        }
+
+        AccountStatusResponse status = loader.apply(userId);
+
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> now - e.loadedAt() >= ttlNanos);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(userId, new Entry(status, now));
+        return status;
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    private record Entry(AccountStatusResponse status, long loadedAt) {
+    }
+}
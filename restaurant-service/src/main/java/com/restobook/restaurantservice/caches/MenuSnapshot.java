@@ -0,0 +1,42 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.enums.MenuCategory;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Menu complet d'un restaurant, trié par ordre d'affichage puis nom.
+ * Tous les filtres du menu sont calculés à partir de cette copie, sans requête.
+ */
+public record MenuSnapshot(List<MenuItemResponse> items, long loadedAt) {
+
+    public MenuSnapshot {
+        items = List.copyOf(items);
+    }
+
+    public List<MenuItemResponse> available() {
+        return filter(item -> Boolean.TRUE.equals(item.getAvailable()));
+    }
+
+    public List<MenuItemResponse> byCategory(MenuCategory category) {
+        return filter(item -> item.getCategory() == category);
+    }
+
+    public List<MenuItemResponse> vegetarian() {
+        return filter(item -> Boolean.TRUE.equals(item.getAvailable()) && Boolean.TRUE.equals(item.getVegetarian()));
+    }
+
+    public List<MenuItemResponse> vegan() {
+        return filter(item -> Boolean.TRUE.equals(item.getAvailable()) && Boolean.TRUE.equals(item.getVegan()));
+    }
+
+    public List<MenuItemResponse> glutenFree() {
+        return filter(item -> Boolean.TRUE.equals(item.getAvailable()) && Boolean.TRUE.equals(item.getGlutenFree()));
+    }
+
+    private List<MenuItemResponse> filter(Predicate<MenuItemResponse> predicate) {
+        return items.stream().filter(predicate).toList();
+    }
+}
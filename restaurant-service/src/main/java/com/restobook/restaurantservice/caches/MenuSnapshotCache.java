@@ -0,0 +1,96 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.events.MenuItemChangedEvent;
+import com.restobook.restaurantservice.repositories.MenuItemRepository;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache des menus par restaurant (lecture seule, chargé en une requête).
+ * Invalidé après chaque modification validée d'un plat ; la durée de vie
+ * borne l'écart avec les modifications faites par une autre instance.
+ */
+@Slf4j
+@Component
+public class MenuSnapshotCache {
+
+    private final Map<Long, MenuSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final long ttlNanos;
+    private final int maxRestaurants;
+
+    public MenuSnapshotCache(MenuItemRepository menuItemRepository,
+                             RestaurantRepository restaurantRepository,
+                             @Value("${menu.cache.ttl:10m}") Duration ttl,
+                             @Value("${menu.cache.max-restaurants:1000}") int maxRestaurants) {
+        this.menuItemRepository = menuItemRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxRestaurants = maxRestaurants;
+    }
+
+    /**
+     * Menu du restaurant, vide si le restaurant n'existe pas
+     */
+    public Optional<MenuSnapshot> get(Long restaurantId) {
+        MenuSnapshot snapshot = snapshots.get(restaurantId);
+        if (snapshot != null && System.nanoTime() - snapshot.loadedAt() < ttlNanos) {
+            return Optional.of(snapshot);
+        }
+        if (snapshot != null) {
+            snapshots.remove(restaurantId, snapshot);
+        }
+
+        evictIfFull();
+        // Chargement sous le verrou de la clé : une invalidation concurrente attend la fin du chargement
+        return Optional.ofNullable(snapshots.computeIfAbsent(restaurantId, this::load));
+    }
+
+    public void evict(Long restaurantId) {
+        snapshots.remove(restaurantId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        evict(event.restaurantId());
+        log.debug("Menu du restaurant {} retiré du cache", event.restaurantId());
+    }
+
+    private MenuSnapshot load(Long restaurantId) {
+        log.debug("Chargement du menu du restaurant {} en cache", restaurantId);
+        List<MenuItemResponse> items = menuItemRepository.findViewsByRestaurantId(restaurantId)
+                .stream()
+                .map(MenuItemResponse::fromView)
+                .toList();
+
+        if (items.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            return null;
+        }
+        return new MenuSnapshot(items, System.nanoTime());
+    }
+
+    /**
+     * Au-delà de la limite, le menu chargé le plus anciennement est retiré
+     */
+    private void evictIfFull() {
+        if (snapshots.size() < maxRestaurants) {
+            return;
+        }
+        snapshots.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                .ifPresent(entry -> snapshots.remove(entry.getKey(), entry.getValue()));
+    }
+}
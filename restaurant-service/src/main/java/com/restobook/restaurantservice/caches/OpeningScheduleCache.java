@@ -0,0 +1,147 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.events.OpeningHoursChangedEvent;
+import com.restobook.restaurantservice.repositories.OpeningHourRepository;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Horaires hebdomadaires par restaurant, reconstruits après chaque modification des horaires.
+ * Seuls les restaurants existants sont conservés ; la durée de vie borne l'écart avec
+ * les modifications faites par une autre instance.
+ */
+@Slf4j
+@Component
+public class OpeningScheduleCache {
+
+    private final Map<Long, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+    private final OpeningHourRepository openingHourRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final long ttlNanos;
+    private final int maxRestaurants;
+
+    /**
+     * Incrémenté à chaque modification : un chargement groupé concurrent n'est alors pas conservé
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    public OpeningScheduleCache(OpeningHourRepository openingHourRepository,
+                                RestaurantRepository restaurantRepository,
+                                @Value("${opening-hours.cache.ttl:5m}") Duration ttl,
+                                @Value("${opening-hours.cache.max-restaurants:10000}") int maxRestaurants) {
+        this.openingHourRepository = openingHourRepository;
+        this.restaurantRepository = restaurantRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxRestaurants = maxRestaurants;
+    }
+
+    public WeeklySchedule get(Long restaurantId) {
+        WeeklySchedule schedule = fresh(restaurantId);
+        if (schedule != null) {
+            return schedule;
+        }
+        evictIfFull();
+        // load renvoie null pour un restaurant inexistant : rien n'est alors conservé
+        WeeklySchedule loaded = schedules.computeIfAbsent(restaurantId, this::load);
+        return loaded != null ? loaded : notFound();
+    }
+
+    /**
+     * Horaires de plusieurs restaurants, les absents du cache étant chargés en deux requêtes IN
+     */
+    public Map<Long, WeeklySchedule> getAll(Collection<Long> restaurantIds) {
+        Map<Long, WeeklySchedule> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : restaurantIds) {
+            WeeklySchedule schedule = fresh(id);
+            if (schedule != null) {
+                result.put(id, schedule);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long changesBefore = changes.get();
+        Map<Long, List<OpeningHourView>> hoursByRestaurant = openingHourRepository.findViewsByRestaurantIdIn(missing)
+                .stream()
+                .collect(Collectors.groupingBy(OpeningHourView::restaurantId));
+        Set<Long> withoutHours = new HashSet<>(missing);
+        withoutHours.removeAll(hoursByRestaurant.keySet());
+        Set<Long> existing = withoutHours.isEmpty() ? Set.of() : new HashSet<>(restaurantRepository.findExistingIds(withoutHours));
+
+        long now = System.nanoTime();
+        for (Long id : missing) {
+            List<OpeningHourView> hours = hoursByRestaurant.getOrDefault(id, List.of());
+            result.put(id, new WeeklySchedule(!hours.isEmpty() || existing.contains(id), hours, now));
+        }
+
+        if (changes.get() == changesBefore) {
+            missing.stream()
+                    .filter(id -> result.get(id).restaurantExists())
+                    .forEach(id -> {
+                        evictIfFull();
+                        schedules.putIfAbsent(id, result.get(id));
+                    });
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpeningHoursChanged(OpeningHoursChangedEvent event) {
+        changes.incrementAndGet();
+        // Reconstruit seulement si le restaurant est déjà en cache
+        schedules.computeIfPresent(event.restaurantId(), (id, previous) -> load(id));
+        log.debug("Horaires du restaurant {} reconstruits", event.restaurantId());
+    }
+
+    private WeeklySchedule fresh(Long restaurantId) {
+        WeeklySchedule schedule = schedules.get(restaurantId);
+        if (schedule == null || System.nanoTime() - schedule.loadedAt() < ttlNanos) {
+            return schedule;
+        }
+        schedules.remove(restaurantId, schedule);
+        return null;
+    }
+
+    private WeeklySchedule load(Long restaurantId) {
+        List<OpeningHourView> openingHours = openingHourRepository.findViewsByRestaurantId(restaurantId);
+        if (openingHours.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+            return null;
+        }
+        return new WeeklySchedule(true, openingHours, System.nanoTime());
+    }
+
+    private static WeeklySchedule notFound() {
+        return new WeeklySchedule(false, List.of(), System.nanoTime());
+    }
+
+    private void evictIfFull() {
+        if (schedules.size() < maxRestaurants) {
+            return;
+        }
+        schedules.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                .ifPresent(entry -> schedules.remove(entry.getKey(), entry.getValue()));
+    }
+}
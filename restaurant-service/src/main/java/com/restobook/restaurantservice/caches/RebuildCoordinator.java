@@ -0,0 +1,74 @@
+package com.restobook.restaurantservice.caches;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Verrou d'écriture d'un état en mémoire mis à jour restaurant par restaurant et reconstruit périodiquement.
+ * Le chargement complet se fait hors verrou ; les restaurants modifiés pendant ce temps sont notés
+ * puis rejoués sur le nouvel état une fois installé.
+ */
+final class RebuildCoordinator {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding = false;
+
+    /**
+     * Charge le nouvel état, l'installe sous verrou, puis rejoue les modifications concurrentes.
+     * Une exception du chargement est propagée et l'état courant est conservé.
+     */
+    <S> void rebuild(Supplier<S> loader, Consumer<S> install, Consumer<Long> replay) {
+        locked(() -> {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        });
+
+        Set<Long> changed;
+        try {
+            S rebuilt = loader.get();
+            changed = lockedValue(() -> {
+                install.accept(rebuilt);
+                return Set.copyOf(changedDuringRebuild);
+            });
+        } finally {
+            locked(() -> rebuilding = false);
+        }
+
+        // Modifications validées pendant le chargement : réappliquées sur le nouvel état
+        changed.forEach(replay);
+    }
+
+    /**
+     * Applique la mise à jour d'un restaurant sous verrou, et la note si une reconstruction est en cours
+     */
+    void update(Long restaurantId, Runnable apply) {
+        locked(() -> {
+            if (rebuilding) {
+                changedDuringRebuild.add(restaurantId);
+            }
+            apply.run();
+        });
+    }
+
+    void locked(Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    <T> T lockedValue(Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
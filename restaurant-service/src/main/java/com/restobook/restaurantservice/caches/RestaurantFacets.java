@@ -0,0 +1,177 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.dtos.response.FacetsResponse;
+import com.restobook.restaurantservice.events.RestaurantChangedEvent;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.FacetValuesView;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
+import com.restobook.restaurantservice.utils.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Compteurs des restaurants actifs par ville et par type de cuisine.
+ * Les valeurs sont regroupées sans tenir compte de la casse ni des accents, comme le DISTINCT MySQL.
+ * Mis à jour à chaque modification d'un restaurant ; les lectures utilisent un instantané immuable.
+ */
+@Slf4j
+@Component
+public class RestaurantFacets {
+
+    private final RestaurantRepository restaurantRepository;
+    private final RebuildCoordinator coordinator = new RebuildCoordinator();
+
+    private State state;
+    private volatile FacetsResponse snapshot;
+
+    public RestaurantFacets(RestaurantRepository restaurantRepository) {
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public FacetsResponse get() {
+        return snapshot;
+    }
+
+    /**
+     * Facettes calculées directement depuis les valeurs des restaurants actifs, avec le même regroupement
+     */
+    public static FacetsResponse of(List<FacetValuesView> restaurants) {
+        return load(restaurants).toResponse();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${restaurants.facets.refresh-interval:5m}",
+            fixedDelayString = "${restaurants.facets.refresh-interval:5m}")
+    public void rebuild() {
+        try {
+            coordinator.rebuild(() -> load(restaurantRepository.findActiveFacetValues()), rebuilt -> {
+                state = rebuilt;
+                snapshot = rebuilt.toResponse();
+                log.debug("Facettes des restaurants reconstruites: {} restaurants actifs", rebuilt.byId.size());
+            }, this::refresh);
+        } catch (Exception e) {
+            log.warn("Impossible de construire les facettes des restaurants: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        refresh(event.restaurantId());
+    }
+
+    private void refresh(Long restaurantId) {
+        Optional<Values> values = restaurantRepository.findViewById(restaurantId)
+                .filter(restaurant -> Boolean.TRUE.equals(restaurant.active()))
+                .map(RestaurantFacets::toValues);
+
+        coordinator.update(restaurantId, () -> {
+            if (state == null) {
+                return;
+            }
+            Values previous = state.byId.get(restaurantId);
+            if (previous != null && previous.equals(values.orElse(null))) {
+                return;
+            }
+            state.remove(restaurantId);
+            values.ifPresent(v -> state.add(restaurantId, v));
+            snapshot = state.toResponse();
+        });
+    }
+
+    private static State load(List<FacetValuesView> restaurants) {
+        State loaded = new State();
+        restaurants.forEach(restaurant ->
+                loaded.add(restaurant.id(), new Values(restaurant.city(), restaurant.cuisineType())));
+        return loaded;
+    }
+
+    private static Values toValues(RestaurantView restaurant) {
+        return new Values(restaurant.city(), restaurant.cuisineType());
+    }
+
+    private record Values(String city, String cuisineType) {
+    }
+
+    /**
+     * Libellé affiché (premier rencontré) et nombre de restaurants
+     */
+    private static final class Facet {
+        private final String label;
+        private int count;
+
+        Facet(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Modifié uniquement sous le verrou du coordinateur (ou avant d'être installé)
+     */
+    private static final class State {
+        private final Map<Long, Values> byId = new HashMap<>();
+        private final TreeMap<String, Facet> cities = new TreeMap<>();
+        private final TreeMap<String, Facet> cuisineTypes = new TreeMap<>();
+
+        void add(Long id, Values values) {
+            byId.put(id, values);
+            increment(cities, values.city());
+            increment(cuisineTypes, values.cuisineType());
+        }
+
+        void remove(Long id) {
+            Values previous = byId.remove(id);
+            if (previous != null) {
+                decrement(cities, previous.city());
+                decrement(cuisineTypes, previous.cuisineType());
+            }
+        }
+
+        FacetsResponse toResponse() {
+            return FacetsResponse.builder()
+                    .cities(counts(cities))
+                    .cuisineTypes(counts(cuisineTypes))
+                    .build();
+        }
+
+        private static void increment(Map<String, Facet> facets, String value) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            facets.computeIfAbsent(TextNormalizer.fold(value.trim()), key -> new Facet(value.trim())).count++;
+        }
+
+        private static void decrement(Map<String, Facet> facets, String value) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = TextNormalizer.fold(value.trim());
+            Facet facet = facets.get(key);
+            if (facet != null && --facet.count <= 0) {
+                facets.remove(key);
+            }
+        }
+
+        private static Map<String, Integer> counts(Map<String, Facet> facets) {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            facets.values().forEach(facet -> counts.merge(facet.label, facet.count, Integer::sum));
+            return Collections.unmodifiableMap(counts);
+        }
+    }
+}
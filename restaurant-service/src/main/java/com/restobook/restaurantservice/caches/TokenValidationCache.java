@@ -0,0 +1,177 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.configs.AuthServiceProperties;
+import com.restobook.restaurantservice.dtos.response.TokenValidationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache des validations de token effectuées par l'auth service.
+ * Clé : empreinte SHA-256 du token, jamais le token lui-même.
+ * Une entrée ne survit ni à l'expiration du token ni à la durée maximale configurée,
+ * et les appels concurrents pour un même token partagent la même requête en cours.
+ */
+@Slf4j
+@Component
+public class TokenValidationCache {
+
+    private static final String CACHE_NAME = "auth-token-validation";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<TokenValidationResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration maxTtl;
+    private final int maxSize;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TokenValidationCache(AuthServiceProperties properties, MeterRegistry meterRegistry) {
+        this.maxTtl = properties.getValidationCacheMaxTtl();
+        this.maxSize = properties.getValidationCacheSize();
+
+        this.hits = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public TokenValidationResponse get(String token, Function<String, TokenValidationResponse> loader) {
+        String key = hash(token);
+        long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (now < entry.expiresAt()) {
+                hits.increment();
+                return entry.response();
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+
+        CompletableFuture<TokenValidationResponse> created = new CompletableFuture<>();
+        CompletableFuture<TokenValidationResponse> pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            // Un autre thread valide déjà ce token : on attend son résultat
+            return join(pending);
+        }
+
+        try {
+            TokenValidationResponse response = loader.apply(token);
+            store(key, token, response);
+            created.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private void store(String key, String token, TokenValidationResponse response) {
+        long ttlNanos = ttlNanos(token);
+        if (ttlNanos <= 0) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (now >= iterator.next().expiresAt()) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+
+        // Toujours plein : on libère de la place sans ordre particulier
+        iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Durée de vie de l'entrée : jusqu'à l'expiration du token, bornée par la durée maximale.
+     * Sans claim exp lisible, le résultat n'est pas mis en cache.
+     */
+    private long ttlNanos(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length < 2) {
+                return 0;
+            }
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            long exp = objectMapper.readTree(payload).path("exp").asLong(0);
+            if (exp == 0) {
+                return 0;
+            }
+            long remainingMillis = exp * 1000 - System.currentTimeMillis();
+            return Math.min(Duration.ofMillis(remainingMillis).toNanos(), maxTtl.toNanos());
+        } catch (RuntimeException e) {
+            log.debug("Claim exp illisible, validation non mise en cache: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static TokenValidationResponse join(CompletableFuture<TokenValidationResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private record Entry(TokenValidationResponse response, long expiresAt) {
+    }
+}
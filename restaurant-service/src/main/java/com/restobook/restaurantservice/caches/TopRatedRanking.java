@@ -0,0 +1,191 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.dtos.response.RestaurantResponse;
+import com.restobook.restaurantservice.events.RestaurantChangedEvent;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
+import com.restobook.restaurantservice.utils.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classement des restaurants actifs ayant au moins un avis, par note décroissante puis id.
+ * Global et par ville, mis à jour restaurant par restaurant après chaque modification,
+ * et reconstruit périodiquement pour rattraper les modifications d'autres instances.
+ * Une page est une tranche d'un tableau trié, lu sans verrou ; après des modifications, le tableau
+ * n'est recopié qu'à la lecture suivante, une fois pour toutes les modifications accumulées.
+ */
+@Slf4j
+@Component
+public class TopRatedRanking {
+
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble(Entry::rating).reversed()
+            .thenComparingLong(Entry::id);
+
+    private final RestaurantRepository restaurantRepository;
+    private final RebuildCoordinator coordinator = new RebuildCoordinator();
+
+    private volatile State state;
+
+    public TopRatedRanking(RestaurantRepository restaurantRepository) {
+        this.restaurantRepository = restaurantRepository;
+    }
+
+    public boolean isReady() {
+        return state != null;
+    }
+
+    /**
+     * Page du classement global, ou de la ville si elle est renseignée
+     */
+    public Page<RestaurantResponse> page(String city, Pageable pageable) {
+        State current = state;
+        Ranking ranking = city == null || city.isBlank()
+                ? current.global()
+                : current.byCity().getOrDefault(TextNormalizer.fold(city.trim()), Ranking.EMPTY);
+
+        Entry[] sorted = ranking.isStale() ? snapshot(ranking) : ranking.sorted();
+        int from = (int) Math.min(pageable.getOffset(), sorted.length);
+        int to = Math.min(from + pageable.getPageSize(), sorted.length);
+        List<RestaurantResponse> content = Arrays.stream(sorted, from, to)
+                .map(Entry::restaurant)
+                .toList();
+        return new PageImpl<>(content, pageable, sorted.length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${restaurants.top-rated.refresh-interval:5m}",
+            fixedDelayString = "${restaurants.top-rated.refresh-interval:5m}")
+    public void rebuild() {
+        try {
+            coordinator.rebuild(this::load, rebuilt -> state = rebuilt, this::refresh);
+            log.debug("Classement des restaurants reconstruit: {} restaurants", state.byId().size());
+        } catch (Exception e) {
+            log.warn("Impossible de construire le classement des restaurants: {}", e.getMessage());
+        }
+    }
+
+    private State load() {
+        State rebuilt = new State();
+        restaurantRepository.findAllRated().forEach(restaurant -> rebuilt.add(toEntry(restaurant)));
+        return rebuilt;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        refresh(event.restaurantId());
+    }
+
+    private void refresh(Long restaurantId) {
+        Optional<Entry> entry = restaurantRepository.findViewById(restaurantId)
+                .filter(TopRatedRanking::isRanked)
+                .map(TopRatedRanking::toEntry);
+
+        coordinator.update(restaurantId, () -> {
+            State current = state;
+            if (current != null) {
+                current.remove(restaurantId);
+                entry.ifPresent(current::add);
+            }
+        });
+    }
+
+    // L'ensemble trié n'est lu que sous le verrou d'écriture
+    private Entry[] snapshot(Ranking ranking) {
+        return coordinator.lockedValue(ranking::snapshot);
+    }
+
+    private static boolean isRanked(RestaurantView restaurant) {
+        return Boolean.TRUE.equals(restaurant.active())
+                && restaurant.totalReviews() != null && restaurant.totalReviews() > 0;
+    }
+
+    private static Entry toEntry(RestaurantView restaurant) {
+        double rating = restaurant.averageRating() != null ? restaurant.averageRating() : 0.0;
+        return new Entry(rating, restaurant.id(), TextNormalizer.fold(restaurant.city()),
+                RestaurantResponse.fromView(restaurant));
+    }
+
+    private record Entry(double rating, long id, String city, RestaurantResponse restaurant) {
+    }
+
+    /**
+     * Ensemble trié modifié sous le verrou d'écriture, et sa copie en tableau pour les lectures,
+     * marquée périmée à chaque modification
+     */
+    private static final class Ranking {
+
+        static final Ranking EMPTY = new Ranking();
+
+        private final NavigableSet<Entry> entries = new TreeSet<>(RANKING);
+        private volatile Entry[] sorted = new Entry[0];
+        private volatile boolean stale = false;
+
+        Entry[] sorted() {
+            return sorted;
+        }
+
+        boolean isStale() {
+            return stale;
+        }
+
+        void add(Entry entry) {
+            stale |= entries.add(entry);
+        }
+
+        void remove(Entry entry) {
+            stale |= entries.remove(entry);
+        }
+
+        Entry[] snapshot() {
+            if (stale) {
+                sorted = entries.toArray(Entry[]::new);
+                stale = false;
+            }
+            return sorted;
+        }
+    }
+
+    private record State(Map<Long, Entry> byId, Ranking global, Map<String, Ranking> byCity) {
+
+        State() {
+            this(new HashMap<>(), new Ranking(), new ConcurrentHashMap<>());
+        }
+
+        void add(Entry entry) {
+            byId.put(entry.id(), entry);
+            global.add(entry);
+            byCity.computeIfAbsent(entry.city(), city -> new Ranking()).add(entry);
+        }
+
+        void remove(Long id) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                global.remove(previous);
+                Ranking city = byCity.get(previous.city());
+                if (city != null) {
+                    city.remove(previous);
+                }
+            }
+        }
+    }
+}
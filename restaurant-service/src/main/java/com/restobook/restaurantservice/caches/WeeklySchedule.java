@@ -0,0 +1,123 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Horaires hebdomadaires d'un restaurant, pré-calculés.
+ * - intervalles exacts par jour pour isOpen (mêmes règles que OpeningHour.isOpenAt)
+ * - bitset 7 × 96 quarts d'heure : un quart d'heure est ouvert s'il tient entièrement dans un intervalle
+ *   (ouverture <= début et fin <= fermeture), le créneau réservable
+ */
+public final class WeeklySchedule {
+
+    public static final int SLOT_MINUTES = 15;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+
+    private final boolean restaurantExists;
+    private final List<List<Interval>> intervals;
+    private final long[] slots = new long[7 * WORDS_PER_DAY];
+    private final long loadedAt;
+
+    public WeeklySchedule(boolean restaurantExists, List<OpeningHourView> openingHours, long loadedAt) {
+        this.restaurantExists = restaurantExists;
+        this.loadedAt = loadedAt;
+
+        List<List<Interval>> byDay = new ArrayList<>(7);
+        for (int day = 0; day < 7; day++) {
+            byDay.add(new ArrayList<>());
+        }
+        for (OpeningHourView hour : openingHours) {
+            if (Boolean.TRUE.equals(hour.closed())) {
+                continue;
+            }
+            List<Interval> day = byDay.get(hour.dayOfWeek().ordinal());
+            addInterval(day, hour.openingTimeMorning(), hour.closingTimeMorning());
+            addInterval(day, hour.openingTimeEvening(), hour.closingTimeEvening());
+        }
+        this.intervals = byDay.stream().map(List::copyOf).toList();
+
+        for (int day = 0; day < 7; day++) {
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                if (isSlotOpen(day, slot * SLOT_MINUTES)) {
+                    slots[day * WORDS_PER_DAY + slot / 64] |= 1L << (slot % 64);
+                }
+            }
+        }
+    }
+
+    public boolean restaurantExists() {
+        return restaurantExists;
+    }
+
+    public long loadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isOpen(DayOfWeek dayOfWeek, LocalTime time) {
+        return isOpen(dayOfWeek.ordinal(), time);
+    }
+
+    /**
+     * Débuts des quarts d'heure ouverts dans [from, to[, from arrondi au quart d'heure supérieur
+     */
+    public List<LocalDateTime> openSlots(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> open = new ArrayList<>();
+        LocalDateTime slotStart = alignToSlot(from);
+
+        while (slotStart.isBefore(to)) {
+            int day = slotStart.getDayOfWeek().getValue() - 1;
+            int slot = (slotStart.getHour() * 60 + slotStart.getMinute()) / SLOT_MINUTES;
+            if ((slots[day * WORDS_PER_DAY + slot / 64] & (1L << (slot % 64))) != 0) {
+                open.add(slotStart);
+            }
+            slotStart = slotStart.plusMinutes(SLOT_MINUTES);
+        }
+        return open;
+    }
+
+    private boolean isOpen(int day, LocalTime time) {
+        for (Interval interval : intervals.get(day)) {
+            if (time.isAfter(interval.opening()) && !time.isAfter(interval.closing())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSlotOpen(int day, int slotStartMinute) {
+        int slotEndMinute = slotStartMinute + SLOT_MINUTES;
+        for (Interval interval : intervals.get(day)) {
+            if (minuteOfDay(interval.opening()) <= slotStartMinute && slotEndMinute <= minuteOfDay(interval.closing())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalDateTime alignToSlot(LocalDateTime time) {
+        LocalDateTime truncated = time.withSecond(0).withNano(0)
+                .withMinute(time.getMinute() / SLOT_MINUTES * SLOT_MINUTES);
+        return truncated.isBefore(time) ? truncated.plus(Duration.ofMinutes(SLOT_MINUTES)) : truncated;
+    }
+
+    private static void addInterval(List<Interval> day, LocalTime opening, LocalTime closing) {
+        if (opening != null && closing != null) {
+            day.add(new Interval(opening, closing));
+        }
+    }
+
+    private record Interval(LocalTime opening, LocalTime closing) {
+    }
+}
@@ -1,93 +1,192 @@
 package com.restobook.restaurantservice.clients;
 
+import com.restobook.restaurantservice.configs.AuthServiceProperties;
+import com.restobook.restaurantservice.dtos.response.AccountStatusResponse;
 import com.restobook.restaurantservice.dtos.response.TokenValidationResponse;
+import com.restobook.restaurantservice.exceptions.BusinessException;
 import com.restobook.restaurantservice.exceptions.ResourceNotFoundException;
+import com.restobook.restaurantservice.exceptions.ServiceUnavailableException;
 import com.restobook.restaurantservice.exceptions.UnauthorizedException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Client de l'auth service.
+ * Les méthodes *Async ne bloquent pas ; les versions bloquantes sont bornées par le délai d'appel.
+ * Les GET sont rejoués sur erreur transitoire, et un circuit breaker coupe les appels
+ * lorsque l'auth service est en échec.
+ */
 @Component
 @Slf4j
 public class AuthServiceClient {
 
     private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final AuthServiceProperties properties;
+
+    public AuthServiceClient(AuthServiceProperties properties) {
+        this.properties = properties;
+
+        AuthServiceProperties.Pool pool = properties.getPool();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("auth-service")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getMaxIdleTime())
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
 
-    public AuthServiceClient(@Value("${services.auth-service.url}") String authServiceUrl) {
         this.webClient = WebClient.builder()
-                .baseUrl(authServiceUrl)
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
+
+        AuthServiceProperties.CircuitBreaker cb = properties.getCircuitBreaker();
+        this.circuitBreaker = CircuitBreaker.of("auth-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(cb.getFailureRateThreshold())
+                .slowCallRateThreshold(cb.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(cb.getSlowCallDuration())
+                .slidingWindowSize(cb.getSlidingWindowSize())
+                .minimumNumberOfCalls(cb.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(cb.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(cb.getPermittedCallsInHalfOpenState())
+                // Un token refusé ou un utilisateur inexistant n'est pas une panne de l'auth service
+                .ignoreExceptions(BusinessException.class)
+                .build());
+        this.circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker auth-service: {}", event.getStateTransition()));
+    }
+
+    public Mono<TokenValidationResponse> validateTokenAsync(String token) {
+        return webClient.get()
+                .uri("/api/v1/internal/validate")
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, clientResponse -> {
+                    log.error("Token invalide ou expiré");
+                    return Mono.error(new UnauthorizedException("Token invalide ou expiré"));
+                })
+                .bodyToMono(TokenValidationResponse.class)
+                .transform(this::resilient)
+                .filter(TokenValidationResponse::isValid)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.warn("Token non valide");
+                    return new UnauthorizedException("Token non valide");
+                }))
+                .doOnNext(response -> log.debug("Token valide pour l'utilisateur: {}", response.getEmail()));
     }
 
     public TokenValidationResponse validateToken(String token) {
         log.debug("Validation du token aupès de l'auth service");
+        return validateTokenAsync(token).block();
+    }
 
-        try {
-            TokenValidationResponse response = webClient.get()
-                    .uri("/api/v1/internal/validate")
-                    .header("Authorization", "Bearer" + token)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, clientResponse -> {
-                        log.error("Token invalide ou expiré");
-                        return Mono.error(new UnauthorizedException("Token invalide ou expiré"));
-                    })
-                    .onStatus(HttpStatusCode::is5xxServerError, clientResponse -> {
-                        log.error("Erreur du service d'authentification");
-                        return Mono.error(new UnauthorizedException("Service d'authentification indisponible"));
-                    })
-                    .bodyToMono(TokenValidationResponse.class)
-                    .block();
-
-            if (response == null || !response.isValid()) {
-                log.warn("Token non valide");
-                throw new UnauthorizedException("Token non valide");
-            }
-
-            log.debug("Token valide pour l'utilisateur: {}", response.getEmail());
-            return response;
-        } catch (UnauthorizedException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Erreur lors de la validation du token: {}", e.getMessage());
-            throw new UnauthorizedException("Impossible de valider le token.");
-        }
+    public Mono<AccountStatusResponse> getAccountStatusAsync(Long userId) {
+        return webClient.get()
+                .uri("/api/v1/internal/users/{id}/status", userId)
+                .retrieve()
+                .bodyToMono(AccountStatusResponse.class)
+                .transform(this::resilient)
+                .switchIfEmpty(Mono.error(() -> new UnauthorizedException("Impossible de valider le token.")));
+    }
+
+    public AccountStatusResponse getAccountStatus(Long userId) {
+        log.debug("Récupération du statut du compte {} depuis l'auth service", userId);
+        return getAccountStatusAsync(userId).block();
+    }
+
+    public Mono<TokenValidationResponse.UserInfo> getUserByIdAsync(String userId, String token) {
+        return webClient.get()
+                .uri("/api/v1/internal/users/{id}", userId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, clientResponse ->
+                    Mono.error(new ResourceNotFoundException("Utilisateur inexistant")))
+                .bodyToMono(TokenValidationResponse.UserInfo.class)
+                .transform(this::resilient);
     }
 
     public TokenValidationResponse.UserInfo getUserById(String userId, String token) {
         log.debug("Récupération de l'utilisateur {} depuis l'auth service", userId);
 
         try {
-            return webClient.get()
-                    .uri("api/v1/internal/users/{id}", userId)
-                    .header("Authorization", "Bearer" + token)
-                    .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, clientResponse ->
-                        Mono.error(new ResourceNotFoundException("Utilisateur inexistant")))
-                    .bodyToMono(TokenValidationResponse.UserInfo.class)
-                    .block();
+            return getUserByIdAsync(userId, token).block();
         } catch (Exception e) {
             log.error("Erreur lors de la récupération de l'utilisateur {}: {}", userId, e.getMessage());
             return null;
         }
     }
 
+    public Mono<Boolean> userExistsAsync(String userId, String token) {
+        return webClient.get()
+                .uri("/api/v1/internal/users/{id}/exists", userId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(Boolean.class)
+                .transform(this::resilient)
+                .map(Boolean.TRUE::equals)
+                .defaultIfEmpty(false);
+    }
+
     public boolean userExists(String userId, String token) {
         log.debug("Vérification de l'existence de l'utilisateur {} dans l'auth service", userId);
 
         try {
-            Boolean exists = webClient.get()
-                    .uri("api/v1/internal/users/{id}/exists", userId)
-                    .header("Authorization", "Bearer" + token)
-                    .retrieve()
-                    .bodyToMono(Boolean.class)
-                    .block();
-            return Boolean.TRUE.equals(exists);
+            return Boolean.TRUE.equals(userExistsAsync(userId, token).block());
         } catch (Exception e) {
             log.error("Erreur lors de la vérification de l'utilisateur {}: {}", userId, e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Nouvelles tentatives avec jitter sur erreur transitoire, délai global de l'appel,
+     * puis circuit breaker. Toute erreur technique devient une ServiceUnavailableException.
+     */
+    private <T> Mono<T> resilient(Mono<T> call) {
+        AuthServiceProperties.Retry retry = properties.getRetry();
+
+        return call
+                .retryWhen(Retry.backoff(retry.getMaxAttempts(), retry.getBackoff())
+                        .jitter(retry.getJitter())
+                        .filter(AuthServiceClient::isTransient)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .timeout(properties.getCallTimeout())
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(e -> !(e instanceof BusinessException), e -> {
+                    if (e instanceof CallNotPermittedException) {
+                        log.warn("Circuit breaker ouvert, appel à l'auth service refusé");
+                    } else {
+                        log.error("Erreur lors de l'appel à l'auth service: {}", e.getMessage());
+                    }
+                    return new ServiceUnavailableException();
+                });
+    }
+
+    private static boolean isTransient(Throwable e) {
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || (e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
 }
@@ -0,0 +1,95 @@
+package com.restobook.restaurantservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "services.auth-service")
+public class AuthServiceProperties {
+
+    private String url;
+
+    /**
+     * Durée pendant laquelle le statut d'un compte (actif, verrouillé) est conservé en cache
+     */
+    private Duration accountStatusTtl = Duration.ofSeconds(30);
+
+    private int accountStatusCacheSize = 10_000;
+
+    /**
+     * Durée maximale de mise en cache d'une validation de token (bornée par l'expiration du token)
+     */
+    private Duration validationCacheMaxTtl = Duration.ofSeconds(60);
+
+    private int validationCacheSize = 10_000;
+
+    /**
+     * Délai maximal d'un appel complet (tentatives comprises)
+     */
+    private Duration callTimeout = Duration.ofSeconds(3);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration responseTimeout = Duration.ofSeconds(1);
+
+    private Pool pool = new Pool();
+
+    private Retry retry = new Retry();
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @Data
+    public static class Pool {
+
+        private int maxConnections = 100;
+
+        /**
+         * Attente maximale d'une connexion libre dans le pool
+         */
+        private Duration pendingAcquireTimeout = Duration.ofMillis(500);
+
+        private int pendingAcquireMaxCount = 200;
+
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Nombre de nouvelles tentatives sur les GET (0 pour désactiver)
+         */
+        private int maxAttempts = 2;
+
+        private Duration backoff = Duration.ofMillis(100);
+
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        private float failureRateThreshold = 50;
+
+        private float slowCallRateThreshold = 80;
+
+        private Duration slowCallDuration = Duration.ofSeconds(1);
+
+        private int slidingWindowSize = 20;
+
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * Durée pendant laquelle les appels échouent immédiatement une fois le circuit ouvert
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 3;
+    }
+}
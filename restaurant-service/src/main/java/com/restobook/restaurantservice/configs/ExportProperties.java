@@ -0,0 +1,23 @@
+package com.restobook.restaurantservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "export")
+public class ExportProperties {
+
+    /**
+     * Durée max d'un export en flux du catalogue (délai propre à cet endpoint)
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Exports simultanés : chacun occupe deux connexions du pool (curseur et lectures par paquet)
+     */
+    private int maxConcurrent = 2;
+}
@@ -0,0 +1,30 @@
+package com.restobook.restaurantservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Durée pendant laquelle un client ou le CDN réutilise une réponse publique sans revalidation
+     */
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    /**
+     * Délai supplémentaire pendant lequel la réponse périmée est servie, revalidée en arrière-plan
+     */
+    private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    public CacheControl cacheControl() {
+        return CacheControl.maxAge(maxAge)
+                .staleWhileRevalidate(staleWhileRevalidate)
+                .cachePublic();
+    }
+}
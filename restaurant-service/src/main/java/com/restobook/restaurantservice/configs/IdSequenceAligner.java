@@ -0,0 +1,70 @@
+package com.restobook.restaurantservice.configs;
+
+import com.restobook.restaurantservice.entities.MenuItem;
+import com.restobook.restaurantservice.entities.OpeningHour;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * MySQL n'a pas de séquences : Hibernate les émule par des tables (next_val), créées vides
+ * à côté de tables dont les lignes ont été numérotées par AUTO_INCREMENT.
+ * Au démarrage, chaque séquence est avancée au-delà du plus grand identifiant existant ;
+ * un échec interrompt le démarrage (sinon les prochains INSERT entreraient en conflit de clé primaire).
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Dépendance sur l'EntityManagerFactory : le schéma (et les tables de séquence) est à jour
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        // Séquences natives ailleurs (H2 des tests) : rien à aligner
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(database)) {
+            return;
+        }
+        align(MenuItem.class);
+        align(OpeningHour.class);
+    }
+
+    private void align(Class<?> entity) {
+        String table = entity.getAnnotation(Table.class).name();
+        SequenceGenerator generator = sequenceGenerator(entity);
+        String sequence = generator.sequenceName();
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Long nextVal = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(next_val), 0) FROM " + sequence, Long.class);
+
+        // L'optimiseur pooled attribue les identifiants (next_val - allocationSize + 1) à next_val
+        long required = maxId + generator.allocationSize();
+        if (nextVal == null || nextVal < required) {
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", required);
+            if (updated == 0) {
+                jdbcTemplate.update("INSERT INTO " + sequence + " (next_val) VALUES (?)", required);
+            }
+            log.info("Séquence {} avancée à {} (max id de {}: {})", sequence, required, table, maxId);
+        }
+    }
+
+    // Nom de séquence et allocationSize lus sur l'entité : aucune valeur dupliquée ici
+    private static SequenceGenerator sequenceGenerator(Class<?> entity) {
+        try {
+            return entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Identifiant introuvable sur " + entity.getSimpleName(), e);
+        }
+    }
+}
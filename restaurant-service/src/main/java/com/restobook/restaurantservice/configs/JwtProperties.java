@@ -0,0 +1,19 @@
+package com.restobook.restaurantservice.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /**
+     * Clé partagée avec l'auth service (Base64). Si elle est absente, les tokens
+     * sont validés à distance via /internal/validate.
+     */
+    private String secret;
+
+    private boolean localVerification = true;
+}
@@ -1,27 +1,83 @@
 package com.restobook.restaurantservice.controllers;
 
+import com.restobook.restaurantservice.configs.ExportProperties;
+import com.restobook.restaurantservice.dtos.request.BatchIdsRequest;
+import com.restobook.restaurantservice.dtos.request.BatchIsOpenRequest;
+import com.restobook.restaurantservice.dtos.request.ReviewScoreRequest;
 import com.restobook.restaurantservice.dtos.response.ApiResponse;
+import com.restobook.restaurantservice.dtos.response.OpenSlotsResponse;
+import com.restobook.restaurantservice.dtos.response.RatingResponse;
 import com.restobook.restaurantservice.dtos.response.RestaurantResponse;
 import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.enums.ExportFormat;
+import com.restobook.restaurantservice.exceptions.ServiceUnavailableException;
+import com.restobook.restaurantservice.services.CatalogExportService;
 import com.restobook.restaurantservice.services.RestaurantService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/internal")
-@RequiredArgsConstructor
 @Tag(name = "Internal", description = "Endpoints internes pour la communication inter-services")
 public class InternalController {
 
     private final RestaurantService restaurantService;
+    private final CatalogExportService catalogExportService;
+    private final ExportProperties exportProperties;
+    private final Semaphore exportSlots;
+
+    public InternalController(RestaurantService restaurantService,
+                              CatalogExportService catalogExportService,
+                              ExportProperties exportProperties) {
+        this.restaurantService = restaurantService;
+        this.catalogExportService = catalogExportService;
+        this.exportProperties = exportProperties;
+        this.exportSlots = new Semaphore(exportProperties.getMaxConcurrent());
+    }
+
+    /**
+     * Seul endpoint au délai asynchrone long (EXPORT_TIMEOUT) ; au-delà de EXPORT_MAX_CONCURRENT exports en cours,
+     * la demande est refusée avant d'occuper une connexion
+     */
+    @GetMapping("/restaurants/export")
+    @Operation(summary = "Exporter le catalogue", description = "Tous les restaurants, écrits au fil de la lecture : NDJSON avec horaires et menus, ou CSV des restaurants")
+    public WebAsyncTask<Void> exportRestaurants(@RequestParam(defaultValue = "ndjson") String format,
+                                                HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (!exportSlots.tryAcquire()) {
+            throw new ServiceUnavailableException("Trop d'exports du catalogue en cours, réessayez plus tard");
+        }
+        log.info("Export du catalogue des restaurants ({})", exportFormat);
+
+        Callable<Void> export = () -> {
+            try {
+                response.setContentType(exportFormat.getContentType());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"restaurants." + exportFormat.getExtension() + "\"");
+                catalogExportService.exportRestaurants(exportFormat, response.getOutputStream());
+                return null;
+            } finally {
+                exportSlots.release();
+            }
+        };
+        return new WebAsyncTask<>(exportProperties.getTimeout().toMillis(), export);
+    }
 
     @GetMapping("/restaurants/{id}/exists")
     @Operation(summary = "Vérifier l'existence d'un restaurant")
@@ -47,6 +103,26 @@ public class InternalController {
         return ResponseEntity.ok(restaurant);
     }
 
+    @PostMapping("/restaurants/batch")
+    @Operation(summary = "Récupérer plusieurs restaurants", description = "Restaurants indexés par ID (100 max), les IDs inconnus sont absents")
+    public ResponseEntity<@NonNull Map<Long, RestaurantResponse>> getRestaurantsBatch(
+            @Valid @RequestBody BatchIdsRequest request) {
+
+        log.debug("Récupération groupée de {} restaurants", request.getIds().size());
+        Map<Long, RestaurantResponse> restaurants = restaurantService.getRestaurantsByIds(request.getIds());
+        return ResponseEntity.ok(restaurants);
+    }
+
+    @PostMapping("/restaurants/is-open")
+    @Operation(summary = "Vérifier l'ouverture de plusieurs restaurants", description = "Ouverture indexée par ID (100 max), identifiants inconnus absents")
+    public ResponseEntity<@NonNull Map<Long, Boolean>> areRestaurantsOpen(
+            @Valid @RequestBody BatchIsOpenRequest request) {
+
+        log.debug("Vérification groupée de l'ouverture de {} restaurants", request.getIds().size());
+        Map<Long, Boolean> open = restaurantService.areRestaurantsOpen(request.getIds(), request.getDayOfWeek(), request.getTime());
+        return ResponseEntity.ok(open);
+    }
+
     @GetMapping("/restaurants/{id}/is-open")
     @Operation(summary = "Vérifier si un restaurant est ouvert")
     public ResponseEntity<@NonNull Boolean> isRestaurantOpen(
@@ -59,6 +135,18 @@ public class InternalController {
         return ResponseEntity.ok(isOpen);
     }
 
+    @GetMapping("/restaurants/{id}/open-slots")
+    @Operation(summary = "Créneaux ouverts d'un restaurant", description = "Quarts d'heure ouverts entre from et to (31 jours max)")
+    public ResponseEntity<@NonNull OpenSlotsResponse> getOpenSlots(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.debug("Créneaux ouverts du restaurant {} entre {} et {}", id, from, to);
+        OpenSlotsResponse slots = restaurantService.getOpenSlots(id, from, to);
+        return ResponseEntity.ok(slots);
+    }
+
     @PutMapping("/restaurants/{id}/rating")
     @Operation(summary = "Mettre à jour la note d'un restaurant", description = "Appelé par le Review Service")
     public ResponseEntity<@NonNull ApiResponse<Void>> updateRating(
@@ -70,4 +158,15 @@ public class InternalController {
         restaurantService.updateRestaurantRating(id, rating, totalReviews);
         return ResponseEntity.ok(ApiResponse.success("Note mise à jour"));
     }
+
+    @PostMapping("/restaurants/{id}/reviews")
+    @Operation(summary = "Ajouter un avis à la note d'un restaurant", description = "Appelé par le Review Service : la moyenne est recalculée ici, de façon atomique")
+    public ResponseEntity<@NonNull ApiResponse<RatingResponse>> addReviewScore(
+            @PathVariable Long id,
+            @Valid @RequestBody ReviewScoreRequest request) {
+
+        log.info("Nouvel avis pour le restaurant {} - Note: {}", id, request.getScore());
+        RatingResponse rating = restaurantService.addReviewScore(id, request.getScore());
+        return ResponseEntity.ok(ApiResponse.success("Note mise à jour", rating));
+    }
 }
@@ -1,13 +1,17 @@
 package com.restobook.restaurantservice.controllers;
 
-import com.restobook.restaurantservice.clients.AuthServiceClient;
+import com.restobook.restaurantservice.dtos.request.BulkMenuImportRequest;
 import com.restobook.restaurantservice.dtos.request.CreateMenuItemRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateMenuItemRequest;
 import com.restobook.restaurantservice.dtos.response.ApiResponse;
+import com.restobook.restaurantservice.dtos.response.MenuItemMatchResponse;
 import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
 import com.restobook.restaurantservice.dtos.response.TokenValidationResponse;
 import com.restobook.restaurantservice.enums.MenuCategory;
+import com.restobook.restaurantservice.security.TokenValidator;
 import com.restobook.restaurantservice.services.MenuItemService;
+import com.restobook.restaurantservice.utils.CachedResponses;
+import com.restobook.restaurantservice.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -28,7 +33,8 @@ import java.util.List;
 public class MenuItemController {
 
     private final MenuItemService menuItemService;
-    private final AuthServiceClient authServiceClient;
+    private final TokenValidator tokenValidator;
+    private final CachedResponses cachedResponses;
 
     // Endpoints publiques
 
@@ -37,14 +43,14 @@ public class MenuItemController {
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> getMenu(@PathVariable Long restaurantId) {
         log.info("Récupération du menu du restaurant: {}", restaurantId);
         List<MenuItemResponse> items = menuItemService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/available")
     @Operation(summary = "Plats disponibles", description = "Récupère uniquement les plats disponibles")
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> getAvailableMenu(@PathVariable Long restaurantId) {
         List<MenuItemResponse> items = menuItemService.getAvailableMenuItems(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/category/{category}")
@@ -54,48 +60,65 @@ public class MenuItemController {
             @PathVariable MenuCategory category) {
 
         List<MenuItemResponse> items = menuItemService.getMenuItemsByCategory(restaurantId, category);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Rechercher des plats")
+    @Operation(summary = "Rechercher des plats", description = "Recherche dans le nom, la description et les allergènes, triée par pertinence")
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> searchMenu(
             @PathVariable Long restaurantId,
             @RequestParam String keyword) {
 
         List<MenuItemResponse> items = menuItemService.searchMenuItems(restaurantId, keyword);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
+    }
+
+    @GetMapping("/search/matches")
+    @Operation(summary = "Recherche avec surlignage", description = "Plats triés par score, avec les positions des mots trouvés (saisie semi-automatique)")
+    public ResponseEntity<@NonNull ApiResponse<List<MenuItemMatchResponse>>> searchMenuMatches(
+            @PathVariable Long restaurantId,
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<MenuItemMatchResponse> matches = menuItemService.searchMenuItemMatches(restaurantId, keyword, Math.clamp(limit, 1, 50));
+        return cachedResponses.ok(matches);
     }
 
     @GetMapping("/vegetarian")
     @Operation(summary = "Plats végétariens")
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> getVegetarianMenu(@PathVariable Long restaurantId) {
         List<MenuItemResponse> items = menuItemService.getVegetarianItems(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/vegan")
     @Operation(summary = "Plats vegan")
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> getVeganMenu(@PathVariable Long restaurantId) {
         List<MenuItemResponse> items = menuItemService.getVeganItems(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/gluten-free")
     @Operation(summary = "Plats sans gluten")
     public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> getGlutenFreeMenu(@PathVariable Long restaurantId) {
         List<MenuItemResponse> items = menuItemService.getGlutenFreeItems(restaurantId);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return cachedResponses.ok(items);
     }
 
     @GetMapping("/{itemId}")
     @Operation(summary = "Détails d'un plat")
     public ResponseEntity<@NonNull ApiResponse<MenuItemResponse>> getMenuItem(
             @PathVariable Long restaurantId,
-            @PathVariable Long itemId) {
-
-        MenuItemResponse item = menuItemService.getMenuItemById(itemId);
-        return ResponseEntity.ok(ApiResponse.success(item));
+            @PathVariable Long itemId,
+            WebRequest webRequest) {
+
+        String currentETag = menuItemService.getMenuItemVersion(itemId)
+                .map(version -> ETags.versioned("menu-item", itemId, version))
+                .orElse(null);
+        return cachedResponses.unlessNotModified(webRequest, currentETag, () -> {
+            MenuItemResponse item = menuItemService.getMenuItemById(itemId);
+            return cachedResponses.ok(item, ETags.versioned("menu-item", itemId, item.getVersion(), item));
+        });
     }
 
     // Endpoints authentifiés
@@ -116,6 +139,22 @@ public class MenuItemController {
                 .body(ApiResponse.success("Plat ajouté au menu", item));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Importer un menu", description = "Ajoute jusqu'à 500 plats en une transaction, en remplaçant éventuellement le menu existant")
+    public ResponseEntity<@NonNull ApiResponse<List<MenuItemResponse>>> importMenuItems(
+            @PathVariable Long restaurantId,
+            @Valid @RequestBody BulkMenuImportRequest request,
+            @RequestHeader("Authorization") String authHeader) {
+
+        TokenValidationResponse tokenInfo = validateToken(authHeader);
+
+        log.info("Import du menu du restaurant: {}", restaurantId);
+        List<MenuItemResponse> items = menuItemService.importMenuItems(restaurantId, request, tokenInfo.getUserId(), tokenInfo.getRole());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(items.size() + " plats importés", items));
+    }
+
     @PutMapping("/{itemId}")
     @Operation(summary = "Modifier un plat")
     public ResponseEntity<@NonNull ApiResponse<MenuItemResponse>> updateMenuItem(
@@ -157,7 +196,6 @@ public class MenuItemController {
     }
 
     private TokenValidationResponse validateToken(String authHeader) {
-        String token = authHeader.replace("Bearer ", "");
-        return authServiceClient.validateToken(token);
+        return tokenValidator.validate(authHeader);
     }
 }
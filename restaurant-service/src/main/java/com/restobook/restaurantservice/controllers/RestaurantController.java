@@ -1,11 +1,13 @@
 package com.restobook.restaurantservice.controllers;
 
-import com.restobook.restaurantservice.clients.AuthServiceClient;
 import com.restobook.restaurantservice.dtos.request.CreateRestaurantRequest;
 import com.restobook.restaurantservice.dtos.request.OpeningHoursRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateRestaurantRequest;
 import com.restobook.restaurantservice.dtos.response.*;
+import com.restobook.restaurantservice.security.TokenValidator;
 import com.restobook.restaurantservice.services.RestaurantService;
+import com.restobook.restaurantservice.utils.CachedResponses;
+import com.restobook.restaurantservice.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,6 +21,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,7 +33,8 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
-    private final AuthServiceClient authServiceClient;
+    private final TokenValidator tokenValidator;
+    private final CachedResponses cachedResponses;
 
     // Endpoints publiques
 
@@ -41,27 +45,42 @@ public class RestaurantController {
 
         log.info("Récupération de tous les restaurants actifs");
         Page<@NonNull RestaurantResponse> restaurants = restaurantService.getAllRestaurants(pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        return cachedResponses.ok(PageResponse.of(restaurants));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Détails d'un restaurant", description = "Récupère les détails d'un restaurant par son ID")
-    public ResponseEntity<@NonNull ApiResponse<RestaurantResponse>> getRestaurantById(@PathVariable Long id) {
+    public ResponseEntity<@NonNull ApiResponse<RestaurantResponse>> getRestaurantById(@PathVariable Long id,
+                                                                                     WebRequest webRequest) {
 
         log.info("Récupération des détails d'un restaurant: {}", id);
-        RestaurantResponse restaurant = restaurantService.getRestaurantById(id);
-        return ResponseEntity.ok(ApiResponse.success(restaurant));
+        String currentETag = restaurantService.getRestaurantVersion(id)
+                .map(version -> ETags.versioned("restaurant", id, version))
+                .orElse(null);
+        return cachedResponses.unlessNotModified(webRequest, currentETag, () -> {
+            RestaurantResponse restaurant = restaurantService.getRestaurantById(id);
+            return cachedResponses.ok(restaurant, ETags.versioned("restaurant", id, restaurant.getVersion(), restaurant));
+        });
+    }
+
+    @GetMapping("/{id}/details")
+    @Operation(summary = "Page d'un restaurant", description = "Restaurant, horaires et plats disponibles en un appel. ETag fort : If-None-Match → 304")
+    public ResponseEntity<@NonNull ApiResponse<RestaurantDetailsResponse>> getRestaurantDetails(@PathVariable Long id) {
+
+        log.info("Récupération de la page du restaurant: {}", id);
+        RestaurantDetailsResponse details = restaurantService.getRestaurantDetails(id);
+        return cachedResponses.ok(details);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Recherche des restaurants par mot-clé", description = "Recherche par nom, ville ou type de cuisine")
+    @Operation(summary = "Recherche des restaurants par mot-clé", description = "Recherche par nom, ville ou type de cuisine, triée par pertinence (préfixes, sans accents)")
     public ResponseEntity<@NonNull ApiResponse<PageResponse<RestaurantResponse>>> searchRestaurants(
             @RequestParam String keyword,
             @PageableDefault Pageable pageable) {
 
         log.info("Recherche d'un restaurant par mot-clé: {}", keyword);
         Page<@NonNull RestaurantResponse> restaurants = restaurantService.searchRestaurants(keyword, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        return cachedResponses.ok(PageResponse.of(restaurants));
     }
 
     @GetMapping("/city/{city}")
@@ -72,7 +91,7 @@ public class RestaurantController {
 
         log.info("Recherche des restaurants par ville: {}", city);
         Page<@NonNull RestaurantResponse> restaurants = restaurantService.getRestaurantsByCity(city, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        return cachedResponses.ok(PageResponse.of(restaurants));
     }
 
     @GetMapping("/cuisine/{cuisineType}")
@@ -83,7 +102,7 @@ public class RestaurantController {
 
         log.info("Restaurants par type de cuisine: {}", cuisineType);
         Page<@NonNull RestaurantResponse> restaurants = restaurantService.getRestaurantsByCuisineType(cuisineType, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        return cachedResponses.ok(PageResponse.of(restaurants));
     }
 
     @GetMapping("/filter")
@@ -96,16 +115,33 @@ public class RestaurantController {
 
         log.info("Filtrer les restaurants");
         Page<@NonNull RestaurantResponse> restaurants = restaurantService.getRestaurantsByFilters(city, cuisineType, minRating, pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        return cachedResponses.ok(PageResponse.of(restaurants));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Parcourir les restaurants par curseur", description = "Tri par nom, sans total : passer nextCursor pour la page suivante (défilement infini)")
+    public ResponseEntity<@NonNull ApiResponse<PageResponse<RestaurantResponse>>> scrollRestaurants(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cuisineType,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        log.info("Parcours des restaurants par curseur");
+        PageResponse<RestaurantResponse> restaurants = restaurantService.scrollRestaurants(
+                city, cuisineType, minRating, cursor, Math.clamp(size, 1, 100));
+        return cachedResponses.ok(restaurants);
     }
 
     @GetMapping("/top-rated")
-    @Operation(summary = "Restaurants les mieux notés")
-    public ResponseEntity<@NonNull ApiResponse<PageResponse<RestaurantResponse>>> getTopRatedRestaurants(@PageableDefault Pageable pageable) {
+    @Operation(summary = "Restaurants les mieux notés", description = "Classement global, ou d'une ville si elle est renseignée")
+    public ResponseEntity<@NonNull ApiResponse<PageResponse<RestaurantResponse>>> getTopRatedRestaurants(
+            @RequestParam(required = false) String city,
+            @PageableDefault Pageable pageable) {
 
         log.info("Récupération des restaurants les mieux notés");
-        Page<@NonNull RestaurantResponse> restaurants = restaurantService.getTopRatedRestaurants(pageable);
-        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(restaurants)));
+        Page<@NonNull RestaurantResponse> restaurants = restaurantService.getTopRatedRestaurants(city, pageable);
+        return cachedResponses.ok(PageResponse.of(restaurants));
     }
 
     @GetMapping("/{id}/opening-hours")
@@ -114,7 +150,7 @@ public class RestaurantController {
 
         log.info("Récupération des heures d'ouverture du restaurant: {}", id);
         List<OpeningHoursResponse> hours = restaurantService.getOpeningHours(id);
-        return ResponseEntity.ok(ApiResponse.success(hours));
+        return cachedResponses.ok(hours);
     }
 
     @GetMapping("/cities")
@@ -123,7 +159,16 @@ public class RestaurantController {
 
         log.info("Récupération des villes ayant des restaurants");
         List<String> cities = restaurantService.getAllCities();
-        return ResponseEntity.ok(ApiResponse.success(cities));
+        return cachedResponses.ok(cities);
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Facettes", description = "Nombre de restaurants actifs par ville et par type de cuisine")
+    public ResponseEntity<@NonNull ApiResponse<FacetsResponse>> getFacets() {
+
+        log.info("Récupération des facettes des restaurants");
+        FacetsResponse facets = restaurantService.getFacets();
+        return cachedResponses.ok(facets);
     }
 
     @GetMapping("/cuisine-types")
@@ -132,7 +177,7 @@ public class RestaurantController {
 
         log.info("Récupération des différents types de cuisine");
         List<String> types = restaurantService.getAllCuisineTypes();
-        return ResponseEntity.ok(ApiResponse.success(types));
+        return cachedResponses.ok(types);
     }
 
     // Endpoints authentifiés
@@ -236,7 +281,6 @@ public class RestaurantController {
     }
 
     private TokenValidationResponse validateToken(String authHeader) {
-        String token = authHeader.replace("Bearer ", "");
-        return authServiceClient.validateToken(token);
+        return tokenValidator.validate(authHeader);
     }
 }
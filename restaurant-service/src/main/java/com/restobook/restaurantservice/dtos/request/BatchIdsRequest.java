@@ -0,0 +1,22 @@
+package com.restobook.restaurantservice.dtos.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIdsRequest {
+
+    @NotEmpty(message = "La liste des identifiants est obligatoire")
+    @Size(max = 100, message = "100 identifiants maximum par requête")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,30 @@
+package com.restobook.restaurantservice.dtos.request;
+
+import com.restobook.restaurantservice.enums.DayOfWeek;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchIsOpenRequest {
+
+    @NotEmpty(message = "La liste des identifiants est obligatoire")
+    @Size(max = 100, message = "100 identifiants maximum par requête")
+    private List<@NotNull Long> ids;
+
+    @NotNull(message = "Le jour de la semaine est obligatoire")
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "L'heure est obligatoire")
+    private LocalTime time;
+}
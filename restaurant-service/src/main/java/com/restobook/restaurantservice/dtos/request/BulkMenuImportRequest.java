@@ -0,0 +1,29 @@
+package com.restobook.restaurantservice.dtos.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkMenuImportRequest {
+
+    @NotEmpty(message = "La liste des plats est obligatoire")
+    @Size(max = 500, message = "500 plats maximum par import")
+    private List<@Valid @NotNull CreateMenuItemRequest> items;
+
+    /**
+     * Supprime les plats existants du restaurant avant l'import
+     */
+    @Builder.Default
+    private Boolean replaceExisting = false;
+}
@@ -0,0 +1,21 @@
+package com.restobook.restaurantservice.dtos.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewScoreRequest {
+
+    @NotNull(message = "La note est obligatoire")
+    @Min(value = 1, message = "La note doit être comprise entre 1 et 5")
+    @Max(value = 5, message = "La note doit être comprise entre 1 et 5")
+    private Integer score;
+}
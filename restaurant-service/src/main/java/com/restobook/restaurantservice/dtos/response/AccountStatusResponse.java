@@ -0,0 +1,20 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatusResponse {
+
+    private Long userId;
+    private boolean exists;
+    private boolean enabled;
+    private boolean accountNonLocked;
+
+    public boolean isActive() {
+        return exists && enabled && accountNonLocked;
+    }
+}
@@ -0,0 +1,21 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Nombre de restaurants actifs par ville et par type de cuisine, triés par libellé
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetsResponse {
+
+    private Map<String, Integer> cities;
+    private Map<String, Integer> cuisineTypes;
+}
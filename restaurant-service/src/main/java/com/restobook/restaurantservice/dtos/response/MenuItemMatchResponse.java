@@ -0,0 +1,31 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuItemMatchResponse {
+
+    private MenuItemResponse item;
+    private Double score;
+    private List<Highlight> highlights;
+
+    /**
+     * Portion du champ correspondant à la recherche : [start, end[ dans le texte d'origine
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Highlight {
+        private String field;
+        private Integer start;
+        private Integer end;
+    }
+}
@@ -3,6 +3,7 @@ package com.restobook.restaurantservice.dtos.response;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.restobook.restaurantservice.entities.MenuItem;
 import com.restobook.restaurantservice.enums.MenuCategory;
+import com.restobook.restaurantservice.repositories.projections.MenuItemView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -32,6 +33,7 @@ public class MenuItemResponse {
     private Boolean vegan;
     private Boolean glutenFree;
     private Integer displayOrder;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -51,8 +53,31 @@ public class MenuItemResponse {
                 .vegan(menuItem.getVegan())
                 .glutenFree(menuItem.getGlutenFree())
                 .displayOrder(menuItem.getDisplayOrder())
+                .version(menuItem.getVersion())
                 .createdAt(menuItem.getCreatedAt())
                 .updatedAt(menuItem.getUpdatedAt())
                 .build();
     }
+
+    public static MenuItemResponse fromView(MenuItemView menuItem) {
+        return MenuItemResponse.builder()
+                .id(menuItem.id())
+                .restaurantId(menuItem.restaurantId())
+                .name(menuItem.name())
+                .description(menuItem.description())
+                .price(menuItem.price())
+                .category(menuItem.category())
+                .imageUrl(menuItem.imageUrl())
+                .allergens(menuItem.allergens())
+                .nutritionalInfo(menuItem.nutritionalInfo())
+                .available(menuItem.available())
+                .vegetarian(menuItem.vegetarian())
+                .vegan(menuItem.vegan())
+                .glutenFree(menuItem.glutenFree())
+                .displayOrder(menuItem.displayOrder())
+                .version(menuItem.version())
+                .createdAt(menuItem.createdAt())
+                .updatedAt(menuItem.updatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OpenSlotsResponse {
+
+    private Long restaurantId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer slotMinutes;
+    private List<LocalDateTime> slots;
+}
@@ -3,6 +3,7 @@ package com.restobook.restaurantservice.dtos.response;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.restobook.restaurantservice.entities.OpeningHour;
 import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -36,4 +37,16 @@ public class OpeningHoursResponse {
                 .closed(openingHours.getClosed())
                 .build();
     }
+
+    public static OpeningHoursResponse fromView(OpeningHourView openingHours) {
+        return OpeningHoursResponse.builder()
+                .id(openingHours.id())
+                .dayOfWeek(openingHours.dayOfWeek())
+                .openingTimeMorning(openingHours.openingTimeMorning())
+                .closingTimeMorning(openingHours.closingTimeMorning())
+                .openingTimeEvening(openingHours.openingTimeEvening())
+                .closingTimeEvening(openingHours.closingTimeEvening())
+                .closed(openingHours.closed())
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.restobook.restaurantservice.dtos.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.springframework.data.domain.Page;
 
@@ -9,6 +10,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
     private List<T> content;
@@ -21,6 +23,11 @@ public class PageResponse<T> {
     private Boolean hasNext;
     private Boolean hasPrevious;
 
+    /**
+     * Curseur de la page suivante (pagination par curseur uniquement), absent sur la dernière page
+     */
+    private String nextCursor;
+
     public static <T> PageResponse<T> of(Page<@NonNull T> page) {
         return PageResponse.<T>builder()
                 .content(page.getContent())
@@ -34,4 +41,16 @@ public class PageResponse<T> {
                 .hasPrevious(page.hasPrevious())
                 .build();
     }
+
+    /**
+     * Page obtenue par curseur : ni numéro de page ni total, seulement le curseur suivant
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, int pageSize, String nextCursor) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
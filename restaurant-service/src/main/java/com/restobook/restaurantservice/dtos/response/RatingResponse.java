@@ -0,0 +1,17 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingResponse {
+
+    private Long restaurantId;
+    private Double averageRating;
+    private Integer totalReviews;
+}
@@ -0,0 +1,21 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page d'un restaurant : le restaurant avec ses horaires et les plats disponibles
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantDetailsResponse {
+
+    private RestaurantResponse restaurant;
+    private List<MenuItemResponse> menu;
+}
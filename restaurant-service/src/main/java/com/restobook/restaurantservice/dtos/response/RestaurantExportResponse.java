@@ -0,0 +1,24 @@
+package com.restobook.restaurantservice.dtos.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ligne de l'export NDJSON : le restaurant (avec ses horaires) et son menu
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RestaurantExportResponse {
+
+    @JsonUnwrapped
+    private RestaurantResponse restaurant;
+
+    private List<MenuItemResponse> menu;
+}
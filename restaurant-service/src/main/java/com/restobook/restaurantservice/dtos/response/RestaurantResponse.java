@@ -2,6 +2,7 @@ package com.restobook.restaurantservice.dtos.response;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.restobook.restaurantservice.entities.Restaurant;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,6 +34,7 @@ public class RestaurantResponse {
     private Long ownerId;
     private Boolean active;
     private List<OpeningHoursResponse> openingHours;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -53,20 +55,32 @@ public class RestaurantResponse {
                 .totalReviews(restaurant.getTotalReviews())
                 .ownerId(restaurant.getOwnerId())
                 .active(restaurant.getActive())
+                .version(restaurant.getVersion())
                 .createdAt(restaurant.getCreatedAt())
                 .updatedAt(restaurant.getUpdatedAt())
                 .build();
     }
 
-    public static RestaurantResponse fromEntityWithHours(Restaurant restaurant) {
-        RestaurantResponse response = fromEntity(restaurant);
-        if (restaurant.getOpeningHours() != null && !restaurant.getOpeningHours().isEmpty()) {
-            response.setOpeningHours(
-                    restaurant.getOpeningHours().stream()
-                            .map(OpeningHoursResponse::fromEntity)
-                            .toList()
-            );
-        }
-        return response;
+    public static RestaurantResponse fromView(RestaurantView restaurant) {
+        return RestaurantResponse.builder()
+                .id(restaurant.id())
+                .name(restaurant.name())
+                .description(restaurant.description())
+                .address(restaurant.address())
+                .city(restaurant.city())
+                .postalCode(restaurant.postalCode())
+                .phone(restaurant.phone())
+                .email(restaurant.email())
+                .imageUrl(restaurant.imageUrl())
+                .cuisineType(restaurant.cuisineType())
+                .totalCapacity(restaurant.totalCapacity())
+                .averageRating(restaurant.averageRating())
+                .totalReviews(restaurant.totalReviews())
+                .ownerId(restaurant.ownerId())
+                .active(restaurant.active())
+                .version(restaurant.version())
+                .createdAt(restaurant.createdAt())
+                .updatedAt(restaurant.updatedAt())
+                .build();
     }
 }
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,8 +22,12 @@ import java.time.LocalDateTime;
 @Builder
 public class MenuItem {
 
+    public static final String ID_SEQUENCE = "menu_items_seq";
+
+    // Identifiants réservés par blocs : contrairement à IDENTITY, permet les insertions JDBC par lots
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -71,6 +76,11 @@ public class MenuItem {
     @Column(nullable = false)
     private MenuCategory category;
 
+    // Incrémentée à chaque modification : verrouillage optimiste et ETag des réponses
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -84,5 +94,7 @@ public class MenuItem {
     }
 
     @PreUpdate
-    public void onUpdate() {}
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
@@ -19,8 +19,12 @@ import java.time.LocalTime;
 @Builder
 public class OpeningHour {
 
+    public static final String ID_SEQUENCE = "opening_hours_seq";
+
+    // Identifiants réservés par blocs : contrairement à IDENTITY, permet les insertions JDBC par lots
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
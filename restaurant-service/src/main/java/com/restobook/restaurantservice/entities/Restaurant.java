@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,7 +15,8 @@ import java.util.List;
 @Table(name = "restaurants", indexes = {
         @Index(name = "idx_restaurant_city", columnList = "city"),
         @Index(name = "idx_restaurant_owner", columnList = "owner_id"),
-        @Index(name = "idx_restaurant_active", columnList = "active")
+        @Index(name = "idx_restaurant_active", columnList = "active"),
+        @Index(name = "idx_restaurant_active_name", columnList = "active, name, id")
 })
 @Data
 @NoArgsConstructor
@@ -79,6 +81,11 @@ public class Restaurant {
     @Builder.Default
     private List<MenuItem> menuItems = new ArrayList<>();
 
+    // Incrémentée à chaque modification : verrouillage optimiste et ETag des réponses
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -92,7 +99,9 @@ public class Restaurant {
     }
 
     @PreUpdate
-    public void onUpdate() {}
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
 
     public void addOpeningHours(OpeningHour hours) {
         openingHours.add(hours);
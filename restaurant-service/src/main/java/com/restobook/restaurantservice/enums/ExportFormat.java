@@ -0,0 +1,25 @@
+package com.restobook.restaurantservice.enums;
+
+import com.restobook.restaurantservice.exceptions.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException("Format d'export inconnu: " + value + " (ndjson ou csv)", HttpStatus.BAD_REQUEST, "INVALID_FORMAT");
+    }
+}
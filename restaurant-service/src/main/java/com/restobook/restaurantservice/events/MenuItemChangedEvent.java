@@ -0,0 +1,16 @@
+package com.restobook.restaurantservice.events;
+
+/**
+ * Publié après création, modification ou suppression d'un plat.
+ * menuItemId null : tout le menu du restaurant est concerné (restaurant supprimé, import...).
+ */
+public record MenuItemChangedEvent(Long restaurantId, Long menuItemId) {
+
+    public static MenuItemChangedEvent ofItem(Long restaurantId, Long menuItemId) {
+        return new MenuItemChangedEvent(restaurantId, menuItemId);
+    }
+
+    public static MenuItemChangedEvent ofRestaurant(Long restaurantId) {
+        return new MenuItemChangedEvent(restaurantId, null);
+    }
+}
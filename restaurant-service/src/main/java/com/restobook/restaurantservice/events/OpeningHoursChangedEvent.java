@@ -0,0 +1,7 @@
+package com.restobook.restaurantservice.events;
+
+/**
+ * Publié après création d'un restaurant, modification de ses horaires ou suppression.
+ */
+public record OpeningHoursChangedEvent(Long restaurantId) {
+}
@@ -0,0 +1,8 @@
+package com.restobook.restaurantservice.events;
+
+/**
+ * Publié après toute modification d'un restaurant (création, mise à jour, note,
+ * activation, désactivation, suppression).
+ */
+public record RestaurantChangedEvent(Long restaurantId) {
+}
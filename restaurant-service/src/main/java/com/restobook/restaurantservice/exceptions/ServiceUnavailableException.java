@@ -0,0 +1,14 @@
+package com.restobook.restaurantservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends BusinessException{
+
+    public ServiceUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE");
+    }
+
+    public ServiceUnavailableException() {
+        this("Service d'authentification indisponible");
+    }
+}
@@ -2,38 +2,38 @@ package com.restobook.restaurantservice.repositories;
 
 import com.restobook.restaurantservice.entities.MenuItem;
 import com.restobook.restaurantservice.enums.MenuCategory;
+import com.restobook.restaurantservice.repositories.projections.MenuItemView;
 import lombok.NonNull;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<@NonNull MenuItem,@NonNull Long> {
 
-    List<MenuItem> findByRestaurantIdOrderByDisplayOrderAscNameAsc(Long restaurantId);
+    @Query(MenuItemView.SELECT + "FROM MenuItem m WHERE m.id = :id")
+    Optional<MenuItemView> findViewById(@Param("id") Long id);
 
-    List<MenuItem> findByRestaurantIdAndCategoryOrderByDisplayOrderAscNameAsc(Long restaurantId, MenuCategory category);
+    // Version seule (clé primaire) : ETag vérifié avant de charger le plat
+    @Query("SELECT m.version FROM MenuItem m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
-    List<MenuItem> findByRestaurantIdAndAvailableTrueOrderByDisplayOrderAscNameAsc(Long restaurantId);
+    @Query(MenuItemView.SELECT + "FROM MenuItem m WHERE m.restaurant.id = :restaurantId ORDER BY m.displayOrder, m.name")
+    List<MenuItemView> findViewsByRestaurantId(@Param("restaurantId") Long restaurantId);
 
-    List<MenuItem> findByRestaurantIdAndCategoryAndAvailableTrueOrderByDisplayOrderAscNameAsc(
-            Long restaurantId, MenuCategory category);
+    @Query(MenuItemView.SELECT + "FROM MenuItem m WHERE m.restaurant.id IN :restaurantIds ORDER BY m.displayOrder, m.name")
+    List<MenuItemView> findViewsByRestaurantIdIn(@Param("restaurantIds") Collection<Long> restaurantIds);
 
-    @Query("SELECT m FROM MenuItem m WHERE m.restaurant.id = :restaurantId AND " +
-            "LOWER(m.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<MenuItem> searchByName(@Param("restaurantId") Long restaurantId, @Param("keyword") String keyword);
-
-    List<MenuItem> findByRestaurantIdAndVegetarianTrueAndAvailableTrueOrderByDisplayOrderAsc(Long restaurantId);
-
-    List<MenuItem> findByRestaurantIdAndVeganTrueAndAvailableTrueOrderByDisplayOrderAsc(Long restaurantId);
-
-    List<MenuItem> findByRestaurantIdAndGlutenFreeTrueAndAvailableTrueOrderByDisplayOrderAsc(Long restaurantId);
+    // Modifications : le restaurant est chargé avec le plat pour le contrôle des droits
+    @EntityGraph(attributePaths = "restaurant")
+    Optional<MenuItem> findWithRestaurantById(Long id);
 
     @Modifying
     @Query("DELETE FROM MenuItem m WHERE m.restaurant.id = :restaurantId")
@@ -42,6 +42,4 @@ public interface MenuItemRepository extends JpaRepository<@NonNull MenuItem,@Non
     long countByRestaurantIdAndCategory(Long restaurantId, MenuCategory category);
 
     boolean existsByIdAndRestaurantId(Long id, Long restaurantId);
-
-    Page<@NonNull MenuItem> findByRestaurantId(Long restaurantId, Pageable pageable);
 }
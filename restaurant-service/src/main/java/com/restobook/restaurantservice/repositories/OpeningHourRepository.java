@@ -2,6 +2,7 @@ package com.restobook.restaurantservice.repositories;
 
 import com.restobook.restaurantservice.entities.OpeningHour;
 import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
 import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,13 +10,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OpeningHourRepository extends JpaRepository<@NonNull OpeningHour,@NonNull Long> {
 
-    List<OpeningHour> findByRestaurantIdOrderByDayOfWeek(Long restaurantId);
+    @Query(OpeningHourView.SELECT + "FROM OpeningHour o WHERE o.restaurant.id = :restaurantId ORDER BY o.dayOfWeek")
+    List<OpeningHourView> findViewsByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query(OpeningHourView.SELECT + "FROM OpeningHour o WHERE o.restaurant.id IN :restaurantIds ORDER BY o.restaurant.id, o.dayOfWeek")
+    List<OpeningHourView> findViewsByRestaurantIdIn(@Param("restaurantIds") Collection<Long> restaurantIds);
 
     Optional<OpeningHour> findByRestaurantIdAndDayOfWeek(Long restaurantId, DayOfWeek dayOfWeek);
 
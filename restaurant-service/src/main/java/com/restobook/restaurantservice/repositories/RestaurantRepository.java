@@ -1,38 +1,100 @@
 package com.restobook.restaurantservice.repositories;
 
 import com.restobook.restaurantservice.entities.Restaurant;
+import com.restobook.restaurantservice.repositories.projections.FacetValuesView;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
+import jakarta.persistence.QueryHint;
 import lombok.NonNull;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<@NonNull Restaurant,@NonNull Long> {
 
-    Page<@NonNull Restaurant> findByCityIgnoreCaseAndActiveTrue(String city, Pageable pageable);
+    // Consultations : projection RestaurantView (colonnes du restaurant seulement, aucune entité gérée)
+
+    Optional<RestaurantView> findViewById(Long id);
+
+    // Version seule (clé primaire) : ETag vérifié avant de charger le restaurant
+    @Query("SELECT r.version FROM Restaurant r WHERE r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    List<RestaurantView> findViewsByIdIn(Collection<Long> ids);
+
+    Page<@NonNull RestaurantView> findViewsByCityIgnoreCaseAndActiveTrue(String city, Pageable pageable);
 
     List<@NonNull Restaurant> findByOwnerId(Long ownerId);
 
-    Page<@NonNull Restaurant> findByOwnerId(Long ownerId, Pageable pageable);
+    Page<@NonNull RestaurantView> findViewsByOwnerId(Long ownerId, Pageable pageable);
 
-    Page<@NonNull Restaurant> findByActiveTrue(Pageable pageable);
+    Page<@NonNull RestaurantView> findViewsByActiveTrue(Pageable pageable);
+
+    @Query("SELECT r.totalCapacity FROM Restaurant r WHERE r.id = :id")
+    Optional<Integer> findTotalCapacityById(@Param("id") Long id);
 
     @Query("SELECT r FROM Restaurant r WHERE r.active = true AND " +
             "(LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(r.city) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(r.cuisineType) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<@NonNull Restaurant> searchRestaurants(@Param("keyword") String keyword, Pageable pageable);
-
-    Page<@NonNull Restaurant> findByCuisineTypeIgnoreCaseAndActiveTrue(String cuisineType, Pageable pageable);
-
-    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.totalReviews > 0 ORDER BY r.averageRating DESC")
-    Page<@NonNull Restaurant> findTopRated(Pageable pageable);
+    Page<@NonNull RestaurantView> searchRestaurants(@Param("keyword") String keyword, Pageable pageable);
+
+    // Recherche plein texte (index ft_restaurant_search), triée par pertinence
+    @Query(value = "SELECT * FROM restaurants r WHERE r.active = true " +
+            "AND MATCH(r.name, r.city, r.cuisine_type) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(r.name, r.city, r.cuisine_type) AGAINST (:query IN BOOLEAN MODE) DESC, r.id",
+            countQuery = "SELECT COUNT(*) FROM restaurants r WHERE r.active = true " +
+                    "AND MATCH(r.name, r.city, r.cuisine_type) AGAINST (:query IN BOOLEAN MODE)",
+            nativeQuery = true)
+    Page<@NonNull Restaurant> searchRestaurantsFullText(@Param("query") String query, Pageable pageable);
+
+    Page<@NonNull RestaurantView> findViewsByCuisineTypeIgnoreCaseAndActiveTrue(String cuisineType, Pageable pageable);
+
+    // Requêtes de repli tant que le classement en mémoire (TopRatedRanking) n'est pas construit
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.totalReviews > 0 ORDER BY r.averageRating DESC, r.id")
+    Page<@NonNull RestaurantView> findTopRated(Pageable pageable);
+
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.totalReviews > 0 AND LOWER(r.city) = LOWER(:city) " +
+            "ORDER BY r.averageRating DESC, r.id")
+    Page<@NonNull RestaurantView> findTopRatedByCity(@Param("city") String city, Pageable pageable);
+
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.totalReviews > 0")
+    List<RestaurantView> findAllRated();
+
+    // Export : lecture ligne par ligne (Integer.MIN_VALUE = résultat MySQL en flux, non chargé en mémoire)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<RestaurantView> streamAllByOrderByIdAsc();
+
+    // Notes : une seule instruction UPDATE, sans lecture préalable (pas de mise à jour perdue entre deux avis)
+
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.averageRating = :averageRating, r.totalReviews = :totalReviews, " +
+            "r.version = r.version + 1, r.updatedAt = :now WHERE r.id = :id")
+    int updateRating(@Param("id") Long id,
+                     @Param("averageRating") Double averageRating,
+                     @Param("totalReviews") Integer totalReviews,
+                     @Param("now") LocalDateTime now);
+
+    // MySQL applique les affectations dans l'ordre : la moyenne est calculée avec l'ancien nombre d'avis
+    @Modifying
+    @Query("UPDATE Restaurant r SET " +
+            "r.averageRating = (COALESCE(r.averageRating, 0) * COALESCE(r.totalReviews, 0) + :score) / (COALESCE(r.totalReviews, 0) + 1), " +
+            "r.totalReviews = COALESCE(r.totalReviews, 0) + 1, " +
+            "r.version = r.version + 1, r.updatedAt = :now WHERE r.id = :id")
+    int addReviewScore(@Param("id") Long id, @Param("score") double score, @Param("now") LocalDateTime now);
 
     boolean existsByIdAndOwnerId(Long id, Long ownerId);
 
@@ -40,18 +102,41 @@ public interface RestaurantRepository extends JpaRepository<@NonNull Restaurant,
 
     Optional<Restaurant> findByIdAndActiveTrue(Long id);
 
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
     // Recherche avancée
     @Query("SELECT r FROM Restaurant r WHERE r.active = true " +
             "AND (:city IS NULL OR LOWER(r.city) = LOWER(:city)) " +
             "AND (:cuisineType IS NULL OR LOWER(r.cuisineType) = LOWER(:cuisineType)) " +
             "AND (:minRating IS NULL OR r.averageRating >= :minRating)")
-    Page<@NonNull Restaurant> findByFilters(
+    Page<@NonNull RestaurantView> findByFilters(
             @Param("city") String city,
             @Param("cuisineType") String cuisineType,
             @Param("minRating") Double minRating,
             Pageable pageable
     );
 
+    // Pagination par curseur : parcours de l'index (active, name, id) à partir du dernier élément lu, sans COUNT
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true " +
+            "AND (:city IS NULL OR r.city = :city) " +
+            "AND (:cuisineType IS NULL OR r.cuisineType = :cuisineType) " +
+            "AND (:minRating IS NULL OR r.averageRating >= :minRating) " +
+            "AND (:afterName IS NULL OR r.name > :afterName OR (r.name = :afterName AND r.id > :afterId)) " +
+            "ORDER BY r.name ASC, r.id ASC")
+    List<RestaurantView> scrollByFilters(
+            @Param("city") String city,
+            @Param("cuisineType") String cuisineType,
+            @Param("minRating") Double minRating,
+            @Param("afterName") String afterName,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Valeurs des facettes (ville, type de cuisine) des restaurants actifs
+    @Query(FacetValuesView.SELECT + "FROM Restaurant r WHERE r.active = true")
+    List<FacetValuesView> findActiveFacetValues();
+
     @Query("SELECT DISTINCT r.city FROM Restaurant r WHERE r.active = true ORDER BY r.city")
     List<String> findDistinctCities();
 
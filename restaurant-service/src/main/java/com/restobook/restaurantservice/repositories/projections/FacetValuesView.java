@@ -0,0 +1,16 @@
+package com.restobook.restaurantservice.repositories.projections;
+
+/**
+ * Valeurs des facettes d'un restaurant (ville, type de cuisine)
+ */
+public record FacetValuesView(
+        Long id,
+        String city,
+        String cuisineType
+) {
+    /**
+     * Expression de constructeur JPQL, alias "r"
+     */
+    public static final String SELECT = "SELECT new com.restobook.restaurantservice.repositories.projections.FacetValuesView(" +
+            "r.id, r.city, r.cuisineType) ";
+}
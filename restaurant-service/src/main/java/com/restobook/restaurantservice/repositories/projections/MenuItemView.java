@@ -0,0 +1,36 @@
+package com.restobook.restaurantservice.repositories.projections;
+
+import com.restobook.restaurantservice.enums.MenuCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Plat lu avec l'identifiant de son restaurant (clé étrangère, sans jointure ni proxy)
+ */
+public record MenuItemView(
+        Long id,
+        Long restaurantId,
+        String name,
+        String description,
+        BigDecimal price,
+        MenuCategory category,
+        String imageUrl,
+        String allergens,
+        String nutritionalInfo,
+        Boolean available,
+        Boolean vegetarian,
+        Boolean vegan,
+        Boolean glutenFree,
+        Integer displayOrder,
+        Long version,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    /**
+     * Expression de constructeur JPQL, alias "m"
+     */
+    public static final String SELECT = "SELECT new com.restobook.restaurantservice.repositories.projections.MenuItemView(" +
+            "m.id, m.restaurant.id, m.name, m.description, m.price, m.category, m.imageUrl, m.allergens, " +
+            "m.nutritionalInfo, m.available, m.vegetarian, m.vegan, m.glutenFree, m.displayOrder, m.version, m.createdAt, m.updatedAt) ";
+}
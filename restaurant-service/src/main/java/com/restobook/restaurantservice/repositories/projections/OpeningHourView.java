@@ -0,0 +1,23 @@
+package com.restobook.restaurantservice.repositories.projections;
+
+import com.restobook.restaurantservice.enums.DayOfWeek;
+
+import java.time.LocalTime;
+
+public record OpeningHourView(
+        Long id,
+        Long restaurantId,
+        DayOfWeek dayOfWeek,
+        LocalTime openingTimeMorning,
+        LocalTime closingTimeMorning,
+        LocalTime openingTimeEvening,
+        LocalTime closingTimeEvening,
+        Boolean closed
+) {
+    /**
+     * Expression de constructeur JPQL, alias "o"
+     */
+    public static final String SELECT = "SELECT new com.restobook.restaurantservice.repositories.projections.OpeningHourView(" +
+            "o.id, o.restaurant.id, o.dayOfWeek, o.openingTimeMorning, o.closingTimeMorning, " +
+            "o.openingTimeEvening, o.closingTimeEvening, o.closed) ";
+}
@@ -0,0 +1,30 @@
+package com.restobook.restaurantservice.repositories.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colonnes d'un restaurant lues par les endpoints de consultation, sans les collections (horaires, menu).
+ * Les noms correspondent aux attributs de l'entité : Spring Data construit la projection
+ * pour les requêtes dérivées comme pour les requêtes JPQL "SELECT r".
+ */
+public record RestaurantView(
+        Long id,
+        String name,
+        String description,
+        String address,
+        String city,
+        String postalCode,
+        String phone,
+        String email,
+        String imageUrl,
+        String cuisineType,
+        Integer totalCapacity,
+        Double averageRating,
+        Integer totalReviews,
+        Long ownerId,
+        Boolean active,
+        Long version,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,87 @@
+package com.restobook.restaurantservice.search;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restobook.restaurantservice.dtos.response.MenuItemMatchResponse;
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.events.MenuItemChangedEvent;
+import com.restobook.restaurantservice.repositories.MenuItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Index de recherche des menus, un par restaurant, chargé à la première recherche
+ * puis mis à jour plat par plat après chaque modification validée. Seules les modifications
+ * de cette instance sont vues : la durée de vie des menus en cache borne l'écart avec les autres.
+ * Un menu vide ou un restaurant inconnu est conservé comme un index vide.
+ */
+@Slf4j
+@Component
+public class MenuSearchIndex {
+
+    private final AsyncCache<Long, RestaurantMenuIndex> indexes;
+    private final MenuItemRepository menuItemRepository;
+
+    public MenuSearchIndex(MenuItemRepository menuItemRepository,
+                           @Value("${menu.cache.ttl:10m}") Duration ttl,
+                           @Value("${menu.search.max-restaurants:1000}") int maxRestaurants) {
+        this.menuItemRepository = menuItemRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxRestaurants)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public List<MenuItemMatchResponse> search(Long restaurantId, String keyword, int limit) {
+        // Seul le futur est inséré sous le verrou de la table : le chargement se fait ensuite, hors verrou,
+        // et les recherches simultanées sur le même restaurant attendent ce même futur
+        CompletableFuture<RestaurantMenuIndex> loading = new CompletableFuture<>();
+        CompletableFuture<RestaurantMenuIndex> index = indexes.get(restaurantId, (id, executor) -> loading);
+        if (index == loading) {
+            try {
+                loading.complete(loadIndex(restaurantId));
+            } catch (RuntimeException e) {
+                // Un futur en échec est retiré du cache : la recherche suivante recharge
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return index.join().search(keyword, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        CompletableFuture<RestaurantMenuIndex> index = indexes.getIfPresent(event.restaurantId());
+        if (index == null) {
+            return;
+        }
+        // Menu entier modifié, ou chargement en cours qui a pu lire l'état précédent : rechargé à la prochaine recherche
+        if (event.menuItemId() == null || !index.isDone()) {
+            indexes.synchronous().invalidate(event.restaurantId());
+            log.debug("Index de recherche du menu {} supprimé", event.restaurantId());
+            return;
+        }
+
+        Optional<MenuItemResponse> item = menuItemRepository.findViewById(event.menuItemId())
+                .map(MenuItemResponse::fromView);
+        RestaurantMenuIndex loaded = index.join();
+        item.ifPresentOrElse(loaded::upsert, () -> loaded.delete(event.menuItemId()));
+    }
+
+    private RestaurantMenuIndex loadIndex(Long restaurantId) {
+        log.debug("Construction de l'index de recherche du menu {}", restaurantId);
+        List<MenuItemResponse> menuItems = menuItemRepository.findViewsByRestaurantId(restaurantId)
+                .stream()
+                .map(MenuItemResponse::fromView)
+                .toList();
+        return new RestaurantMenuIndex(menuItems);
+    }
+}
@@ -0,0 +1,91 @@
+package com.restobook.restaurantservice.search;
+
+import com.restobook.restaurantservice.utils.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Index FULLTEXT MySQL sur (name, city, cuisine_type), créé au démarrage s'il n'existe pas
+ * (Hibernate ne sait pas le générer).
+ * Tant que l'index n'est pas disponible, la recherche utilise l'ancienne requête LIKE.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestaurantFullTextIndex {
+
+    public static final String INDEX_NAME = "ft_restaurant_search";
+
+    /**
+     * Taille minimale d'un mot indexé par InnoDB (innodb_ft_min_token_size)
+     */
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean available = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                            "WHERE table_schema = DATABASE() AND table_name = 'restaurants' AND index_name = ?",
+                    Integer.class, INDEX_NAME);
+
+            if (existing == null || existing == 0) {
+                log.info("Création de l'index FULLTEXT {} sur restaurants", INDEX_NAME);
+                jdbcTemplate.execute("ALTER TABLE restaurants ADD FULLTEXT INDEX " + INDEX_NAME +
+                        " (name, city, cuisine_type)");
+            }
+
+            checkAccentInsensitiveCollation();
+            available = true;
+        } catch (Exception e) {
+            log.warn("Index FULLTEXT indisponible, recherche par LIKE: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Convertit la saisie utilisateur en requête BOOLEAN MODE : chaque mot est obligatoire
+     * et recherché par préfixe ("orl ital" → "+orl* +ital*").
+     * Retourne null si aucun mot n'est assez long pour l'index.
+     */
+    public String toBooleanQuery(String keyword) {
+        List<String> tokens = TextNormalizer.tokenize(keyword).stream()
+                .filter(token -> token.length() >= MIN_TOKEN_LENGTH)
+                .toList();
+
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        return tokens.stream()
+                .map(token -> "+" + token + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    private void checkAccentInsensitiveCollation() {
+        String collation = jdbcTemplate.queryForObject(
+                "SELECT collation_name FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'restaurants' AND column_name = 'city'",
+                String.class);
+
+        // Les accents sont retirés de la requête : les colonnes doivent être comparées sans accents
+        boolean accentInsensitive = collation != null && (collation.contains("_ai_")
+                || collation.endsWith("_general_ci") || collation.endsWith("_unicode_ci"));
+        if (!accentInsensitive) {
+            log.warn("Collation {} sensible aux accents : 'Orleans' ne trouvera pas 'Orléans'", collation);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.restobook.restaurantservice.search;
+
+import com.restobook.restaurantservice.dtos.response.MenuItemMatchResponse;
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.utils.TextNormalizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé du menu d'un restaurant : mot normalisé → plats.
+ * Lectures concurrentes, mises à jour plat par plat sous verrou d'écriture.
+ */
+class RestaurantMenuIndex {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final Map<String, Double> FIELD_WEIGHTS = Map.of(
+            "name", 3.0,
+            "description", 1.0,
+            "allergens", 1.0
+    );
+
+    /**
+     * Un préfixe rapporte moins qu'un mot complet
+     */
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    RestaurantMenuIndex(List<MenuItemResponse> menuItems) {
+        menuItems.forEach(this::add);
+    }
+
+    void upsert(MenuItemResponse item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            add(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void delete(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            remove(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tous les mots de la recherche doivent correspondre (mot complet ou préfixe),
+     * résultats triés par score décroissant puis ordre d'affichage.
+     */
+    List<MenuItemMatchResponse> search(String keyword, int limit) {
+        List<String> queryTokens = TextNormalizer.tokenize(keyword);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            for (String token : queryTokens) {
+                Set<Long> matching = new HashSet<>();
+                prefixRange(token).values().forEach(matching::addAll);
+                if (candidates == null) {
+                    candidates = matching;
+                } else {
+                    candidates.retainAll(matching);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<MenuItemMatchResponse> matches = new ArrayList<>(candidates.size());
+            for (Long itemId : candidates) {
+                matches.add(score(items.get(itemId), queryTokens));
+            }
+
+            return matches.stream()
+                    .sorted(Comparator.comparingDouble(MenuItemMatchResponse::getScore).reversed()
+                            .thenComparing(match -> match.getItem().getDisplayOrder(),
+                                    Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(match -> match.getItem().getName()))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MenuItemMatchResponse score(IndexedItem indexed, List<String> queryTokens) {
+        double score = 0;
+        List<MenuItemMatchResponse.Highlight> highlights = new ArrayList<>();
+
+        for (String queryToken : queryTokens) {
+            double best = 0;
+            for (Token token : indexed.tokens()) {
+                if (!token.term().startsWith(queryToken)) {
+                    continue;
+                }
+                boolean exact = token.term().length() == queryToken.length();
+                double weight = FIELD_WEIGHTS.get(token.field()) * (exact ? 1.0 : PREFIX_FACTOR);
+                best = Math.max(best, weight);
+
+                int end = exact ? token.end() : Math.min(token.end(), token.start() + queryToken.length());
+                highlights.add(new MenuItemMatchResponse.Highlight(token.field(), token.start(), end));
+            }
+            score += best;
+        }
+
+        highlights.sort(Comparator.comparing(MenuItemMatchResponse.Highlight::getField)
+                .thenComparing(MenuItemMatchResponse.Highlight::getStart));
+
+        return MenuItemMatchResponse.builder()
+                .item(indexed.item())
+                .score(score)
+                .highlights(highlights)
+                .build();
+    }
+
+    private NavigableMap<String, Set<Long>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void add(MenuItemResponse item) {
+        List<Token> tokens = new ArrayList<>();
+        tokenize("name", item.getName(), tokens);
+        tokenize("description", item.getDescription(), tokens);
+        tokenize("allergens", item.getAllergens(), tokens);
+
+        items.put(item.getId(), new IndexedItem(item, tokens));
+        for (Token token : tokens) {
+            postings.computeIfAbsent(token.term(), term -> new HashSet<>()).add(item.getId());
+        }
+    }
+
+    private void remove(Long itemId) {
+        IndexedItem previous = items.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (Token token : previous.tokens()) {
+            Set<Long> ids = postings.get(token.term());
+            if (ids != null) {
+                ids.remove(itemId);
+                if (ids.isEmpty()) {
+                    postings.remove(token.term());
+                }
+            }
+        }
+    }
+
+    /**
+     * Les positions sont celles du texte d'origine, seul le mot est normalisé
+     */
+    private static void tokenize(String field, String text, List<Token> tokens) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            tokens.add(new Token(field, TextNormalizer.fold(matcher.group()), matcher.start(), matcher.end()));
+        }
+    }
+
+    private record Token(String field, String term, int start, int end) {
+    }
+
+    private record IndexedItem(MenuItemResponse item, List<Token> tokens) {
+    }
+}
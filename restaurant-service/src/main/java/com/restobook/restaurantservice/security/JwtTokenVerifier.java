@@ -0,0 +1,61 @@
+package com.restobook.restaurantservice.security;
+
+import com.restobook.restaurantservice.configs.JwtProperties;
+import com.restobook.restaurantservice.dtos.response.TokenValidationResponse;
+import com.restobook.restaurantservice.exceptions.UnauthorizedException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Vérifie localement la signature et l'expiration des tokens émis par l'auth service,
+ * avec la même clé HMAC que JwtTokenProvider.
+ */
+@Slf4j
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtParser jwtParser;
+
+    public JwtTokenVerifier(JwtProperties jwtProperties) {
+        if (jwtProperties.isLocalVerification() && StringUtils.hasText(jwtProperties.getSecret())) {
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret())))
+                    .build();
+            log.info("Vérification locale des tokens JWT activée");
+        } else {
+            this.jwtParser = null;
+            log.warn("Vérification locale des tokens JWT désactivée, validation via l'auth service");
+        }
+    }
+
+    public boolean isEnabled() {
+        return jwtParser != null;
+    }
+
+    public TokenValidationResponse verify(String token) {
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Long userId = claims.get("userId", Long.class);
+
+            if (userId == null) {
+                throw new UnauthorizedException("Token non valide");
+            }
+
+            return new TokenValidationResponse(true, userId, claims.getSubject(), claims.get("role", String.class));
+        } catch (ExpiredJwtException ex) {
+            log.warn("Token JWT expiré: {}", ex.getMessage());
+            throw new UnauthorizedException("Token invalide ou expiré");
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.warn("Token JWT invalide: {}", ex.getMessage());
+            throw new UnauthorizedException("Token invalide ou expiré");
+        }
+    }
+}
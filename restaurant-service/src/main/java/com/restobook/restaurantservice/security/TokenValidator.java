@@ -0,0 +1,46 @@
+package com.restobook.restaurantservice.security;
+
+import com.restobook.restaurantservice.caches.AccountStatusCache;
+import com.restobook.restaurantservice.caches.TokenValidationCache;
+import com.restobook.restaurantservice.clients.AuthServiceClient;
+import com.restobook.restaurantservice.dtos.response.AccountStatusResponse;
+import com.restobook.restaurantservice.dtos.response.TokenValidationResponse;
+import com.restobook.restaurantservice.exceptions.UnauthorizedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenValidator {
+
+    private final JwtTokenVerifier jwtTokenVerifier;
+    private final AuthServiceClient authServiceClient;
+    private final AccountStatusCache accountStatusCache;
+    private final TokenValidationCache tokenValidationCache;
+
+    public TokenValidationResponse validate(String authHeader) {
+        if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
+            throw new UnauthorizedException("Token manquant");
+        }
+        String token = authHeader.substring(7);
+
+        if (!jwtTokenVerifier.isEnabled()) {
+            return tokenValidationCache.get(token, authServiceClient::validateToken);
+        }
+
+        TokenValidationResponse tokenInfo = jwtTokenVerifier.verify(token);
+
+        // Seule la révocation du compte nécessite l'auth service, et le résultat est mis en cache
+        AccountStatusResponse status = accountStatusCache.get(tokenInfo.getUserId(), authServiceClient::getAccountStatus);
+        if (!status.isActive()) {
+            log.warn("Compte inexistant, désactivé ou verrouillé: {}", tokenInfo.getUserId());
+            throw new UnauthorizedException("Token non valide");
+        }
+
+        log.debug("Token vérifié localement pour l'utilisateur: {}", tokenInfo.getEmail());
+        return tokenInfo;
+    }
+}
@@ -0,0 +1,14 @@
+package com.restobook.restaurantservice.services;
+
+import com.restobook.restaurantservice.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CatalogExportService {
+
+    /**
+     * Écrit tous les restaurants au fil de la lecture et retourne leur nombre
+     */
+    long exportRestaurants(ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -1,11 +1,14 @@
 package com.restobook.restaurantservice.services;
 
+import com.restobook.restaurantservice.dtos.request.BulkMenuImportRequest;
 import com.restobook.restaurantservice.dtos.request.CreateMenuItemRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateMenuItemRequest;
+import com.restobook.restaurantservice.dtos.response.MenuItemMatchResponse;
 import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
 import com.restobook.restaurantservice.enums.MenuCategory;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MenuItemService {
 
@@ -13,8 +16,15 @@ public interface MenuItemService {
 
     MenuItemResponse createMenuItem(Long restaurantId, CreateMenuItemRequest request, Long userId, String role);
 
+    List<MenuItemResponse> importMenuItems(Long restaurantId, BulkMenuImportRequest request, Long userId, String role);
+
     MenuItemResponse getMenuItemById(Long id);
 
+    /**
+     * Version courante du plat, vide s'il n'existe pas ou n'est pas encore versionné
+     */
+    Optional<Long> getMenuItemVersion(Long id);
+
     MenuItemResponse updateMenuItem(Long id, UpdateMenuItemRequest request, Long userId, String role);
 
     void deleteMenuItem(Long id, Long userId, String role);
@@ -29,6 +39,8 @@ public interface MenuItemService {
 
     List<MenuItemResponse> searchMenuItems(Long restaurantId, String keyword);
 
+    List<MenuItemMatchResponse> searchMenuItemMatches(Long restaurantId, String keyword, int limit);
+
     List<MenuItemResponse> getVegetarianItems(Long restaurantId);
 
     List<MenuItemResponse> getVeganItems(Long restaurantId);
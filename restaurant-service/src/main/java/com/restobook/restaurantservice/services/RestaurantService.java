@@ -3,15 +3,23 @@ package com.restobook.restaurantservice.services;
 import com.restobook.restaurantservice.dtos.request.CreateRestaurantRequest;
 import com.restobook.restaurantservice.dtos.request.OpeningHoursRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateRestaurantRequest;
+import com.restobook.restaurantservice.dtos.response.FacetsResponse;
+import com.restobook.restaurantservice.dtos.response.OpenSlotsResponse;
 import com.restobook.restaurantservice.dtos.response.OpeningHoursResponse;
+import com.restobook.restaurantservice.dtos.response.PageResponse;
+import com.restobook.restaurantservice.dtos.response.RatingResponse;
+import com.restobook.restaurantservice.dtos.response.RestaurantDetailsResponse;
 import com.restobook.restaurantservice.dtos.response.RestaurantResponse;
 import com.restobook.restaurantservice.enums.DayOfWeek;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface RestaurantService {
 
@@ -21,6 +29,13 @@ public interface RestaurantService {
 
     RestaurantResponse getRestaurantById(Long id);
 
+    /**
+     * Version courante du restaurant, vide s'il n'existe pas ou n'est pas encore versionné
+     */
+    Optional<Long> getRestaurantVersion(Long id);
+
+    RestaurantDetailsResponse getRestaurantDetails(Long id);
+
     RestaurantResponse updateRestaurant(Long id, UpdateRestaurantRequest request, Long userId, String role);
 
     void deleteRestaurant(Long id, Long userId, String role);
@@ -35,9 +50,11 @@ public interface RestaurantService {
 
     Page<@NonNull RestaurantResponse> getRestaurantsByCuisineType(String cuisineType, Pageable pageable);
 
+    PageResponse<RestaurantResponse> scrollRestaurants(String city, String cuisineType, Double minRating, String cursor, int size);
+
     Page<@NonNull RestaurantResponse> getRestaurantsByFilters(String city, String cuisineType, Double minRating, Pageable pageable);
 
-    Page<@NonNull RestaurantResponse> getTopRatedRestaurants(Pageable pageable);
+    Page<@NonNull RestaurantResponse> getTopRatedRestaurants(String city, Pageable pageable);
 
     // Owner
 
@@ -59,8 +76,12 @@ public interface RestaurantService {
 
     void updateRestaurantRating(Long restaurantId, Double newRating, Integer totalReviews);
 
+    RatingResponse addReviewScore(Long restaurantId, int score);
+
     List<String> getAllCities();
 
+    FacetsResponse getFacets();
+
     List<String> getAllCuisineTypes();
 
     // Interne
@@ -70,4 +91,10 @@ public interface RestaurantService {
     Integer getRestaurantCapacity(Long id);
 
     boolean isRestaurantOpen(Long id, DayOfWeek dayOfWeek, LocalTime time);
+
+    Map<Long, RestaurantResponse> getRestaurantsByIds(List<Long> ids);
+
+    Map<Long, Boolean> areRestaurantsOpen(List<Long> ids, DayOfWeek dayOfWeek, LocalTime time);
+
+    OpenSlotsResponse getOpenSlots(Long id, LocalDateTime from, LocalDateTime to);
 }
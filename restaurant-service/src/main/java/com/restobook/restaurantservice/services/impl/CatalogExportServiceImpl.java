@@ -0,0 +1,173 @@
+package com.restobook.restaurantservice.services.impl;
+
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.dtos.response.OpeningHoursResponse;
+import com.restobook.restaurantservice.dtos.response.RestaurantExportResponse;
+import com.restobook.restaurantservice.dtos.response.RestaurantResponse;
+import com.restobook.restaurantservice.enums.ExportFormat;
+import com.restobook.restaurantservice.repositories.MenuItemRepository;
+import com.restobook.restaurantservice.repositories.OpeningHourRepository;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.MenuItemView;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
+import com.restobook.restaurantservice.services.CatalogExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Export du catalogue : les restaurants sont lus ligne par ligne (curseur MySQL, projections sans entité gérée)
+ * et écrits par paquets, horaires et menus du paquet étant chargés en deux requêtes.
+ * Seul un paquet est en mémoire à la fois.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    private static final int CHUNK_SIZE = 200;
+
+    private static final String CSV_HEADER = "id,name,address,city,postal_code,phone,email,cuisine_type," +
+            "total_capacity,average_rating,total_reviews,owner_id,active,created_at,updated_at";
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OpeningHourRepository openingHourRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRestaurants(ExportFormat format, OutputStream outputStream) throws IOException {
+        log.info("Export du catalogue au format {}", format);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        List<RestaurantView> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<RestaurantView> restaurants = restaurantRepository.streamAllByOrderByIdAsc()) {
+            Iterator<RestaurantView> iterator = restaurants.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    count += writeChunk(format, chunk, writer);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            count += writeChunk(format, chunk, writer);
+        }
+        writer.flush();
+
+        log.info("Export terminé: {} restaurants", count);
+        return count;
+    }
+
+    private int writeChunk(ExportFormat format, List<RestaurantView> chunk, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (RestaurantView restaurant : chunk) {
+                writer.write(toCsvLine(restaurant));
+                writer.write('\n');
+            }
+        } else {
+            for (RestaurantExportResponse line : withHoursAndMenus(chunk)) {
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+    /**
+     * La connexion de l'export est occupée par le curseur : horaires et menus sont lus
+     * dans une transaction séparée (seconde connexion du pool)
+     */
+    private List<RestaurantExportResponse> withHoursAndMenus(List<RestaurantView> chunk) {
+        List<Long> ids = chunk.stream().map(RestaurantView::id).toList();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+
+        return Objects.requireNonNull(transaction.execute(status -> {
+            Map<Long, List<OpeningHoursResponse>> hours = openingHourRepository.findViewsByRestaurantIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(OpeningHourView::restaurantId,
+                            Collectors.mapping(OpeningHoursResponse::fromView, Collectors.toList())));
+
+            Map<Long, List<MenuItemResponse>> menus = menuItemRepository.findViewsByRestaurantIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(MenuItemView::restaurantId,
+                            Collectors.mapping(MenuItemResponse::fromView, Collectors.toList())));
+
+            return chunk.stream()
+                    .map(restaurant -> {
+                        RestaurantResponse response = RestaurantResponse.fromView(restaurant);
+                        response.setOpeningHours(hours.getOrDefault(restaurant.id(), List.of()));
+                        return RestaurantExportResponse.builder()
+                                .restaurant(response)
+                                .menu(menus.getOrDefault(restaurant.id(), List.of()))
+                                .build();
+                    })
+                    .toList();
+        }));
+    }
+
+    private static String toCsvLine(RestaurantView restaurant) {
+        return Stream.of(
+                        restaurant.id(),
+                        restaurant.name(),
+                        restaurant.address(),
+                        restaurant.city(),
+                        restaurant.postalCode(),
+                        restaurant.phone(),
+                        restaurant.email(),
+                        restaurant.cuisineType(),
+                        restaurant.totalCapacity(),
+                        restaurant.averageRating(),
+                        restaurant.totalReviews(),
+                        restaurant.ownerId(),
+                        restaurant.active(),
+                        restaurant.createdAt(),
+                        restaurant.updatedAt())
+                .map(CatalogExportServiceImpl::csvValue)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -1,22 +1,31 @@
 package com.restobook.restaurantservice.services.impl;
 
+import com.restobook.restaurantservice.caches.MenuSnapshot;
+import com.restobook.restaurantservice.caches.MenuSnapshotCache;
+import com.restobook.restaurantservice.dtos.request.BulkMenuImportRequest;
 import com.restobook.restaurantservice.dtos.request.CreateMenuItemRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateMenuItemRequest;
+import com.restobook.restaurantservice.dtos.response.MenuItemMatchResponse;
 import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
 import com.restobook.restaurantservice.entities.MenuItem;
 import com.restobook.restaurantservice.entities.Restaurant;
 import com.restobook.restaurantservice.enums.MenuCategory;
+import com.restobook.restaurantservice.events.MenuItemChangedEvent;
 import com.restobook.restaurantservice.exceptions.ForbiddenException;
 import com.restobook.restaurantservice.exceptions.ResourceNotFoundException;
 import com.restobook.restaurantservice.repositories.MenuItemRepository;
 import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.MenuItemView;
+import com.restobook.restaurantservice.search.MenuSearchIndex;
 import com.restobook.restaurantservice.services.MenuItemService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -25,6 +34,9 @@ public class MenuItemServiceImpl implements MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -37,38 +49,58 @@ public class MenuItemServiceImpl implements MenuItemService {
 
         checkPermission(restaurant, userId, role);
 
-        MenuItem menuItem = MenuItem.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .price(request.getPrice())
-                .imageUrl(request.getImageUrl())
-                .allergens(request.getAllergens())
-                .nutritionalInfo(request.getNutritionalInfo())
-                .available(request.getAvailable())
-                .vegetarian(request.getVegetarian())
-                .vegan(request.getVegan())
-                .glutenFree(request.getGlutenFree())
-                .displayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0)
-                .restaurant(restaurant)
-                .category(request.getCategory())
-                .build();
-
-        MenuItem savedMenuItem =  menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem =  menuItemRepository.save(toMenuItem(request, restaurant));
         log.info("Plat créé: {}", savedMenuItem.getName());
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofItem(restaurantId, savedMenuItem.getId()));
 
         return MenuItemResponse.fromEntity(savedMenuItem);
     }
 
+    @Override
+    @Transactional
+    public List<MenuItemResponse> importMenuItems(Long restaurantId, BulkMenuImportRequest request, Long userId, String role) {
+        log.info("Import de {} plats pour le restaurant: {}", request.getItems().size(), restaurantId);
+
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow(
+                () -> new ResourceNotFoundException("Restaurant", "id", restaurantId)
+        );
+
+        checkPermission(restaurant, userId, role);
+
+        if (Boolean.TRUE.equals(request.getReplaceExisting())) {
+            menuItemRepository.deleteByRestaurantId(restaurantId);
+        }
+
+        // Insérés par lots de hibernate.jdbc.batch_size dans la même transaction
+        List<MenuItem> savedMenuItems = menuItemRepository.saveAll(
+                request.getItems().stream()
+                        .map(item -> toMenuItem(item, restaurant))
+                        .toList());
+
+        log.info("{} plats importés pour le restaurant: {}", savedMenuItems.size(), restaurantId);
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofRestaurant(restaurantId));
+
+        return savedMenuItems.stream()
+                .map(MenuItemResponse::fromEntity)
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MenuItemResponse getMenuItemById(Long id) {
         log.info("Récupération d'un plat par id: {}", id);
 
-        MenuItem menuItem = menuItemRepository.findById(id).orElseThrow(
+        MenuItemView menuItem = menuItemRepository.findViewById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Plat", "id", id)
         );
-        log.info("Plat récupéré {}", menuItem.getName());
-        return MenuItemResponse.fromEntity(menuItem);
+        log.info("Plat récupéré {}", menuItem.name());
+        return MenuItemResponse.fromView(menuItem);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getMenuItemVersion(Long id) {
+        return menuItemRepository.findVersionById(id);
     }
 
     @Override
@@ -76,7 +108,7 @@ public class MenuItemServiceImpl implements MenuItemService {
     public MenuItemResponse updateMenuItem(Long id, UpdateMenuItemRequest request, Long userId, String role) {
         log.info("Modification d'un plat: {} par l'utilisateur: {}", id, userId);
 
-        MenuItem menuItem = menuItemRepository.findById(id).orElseThrow(
+        MenuItem menuItem = menuItemRepository.findWithRestaurantById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Plat", "id", id)
         );
 
@@ -95,8 +127,10 @@ public class MenuItemServiceImpl implements MenuItemService {
         if (request.getDisplayOrder() != null) menuItem.setDisplayOrder(request.getDisplayOrder());
         if (request.getCategory() != null) menuItem.setCategory(request.getCategory());
 
-        MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        // Flush avant la réponse : version et date de mise à jour y sont celles de l'ETag des lectures suivantes
+        MenuItem updatedMenuItem = menuItemRepository.saveAndFlush(menuItem);
         log.info("Plat mis à jour: {}", updatedMenuItem.getName());
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofItem(menuItem.getRestaurant().getId(), id));
 
         return MenuItemResponse.fromEntity(updatedMenuItem);
     }
@@ -106,7 +140,7 @@ public class MenuItemServiceImpl implements MenuItemService {
     public void deleteMenuItem(Long id, Long userId, String role) {
         log.info("Suppression du plat: {} par l'utilisateur: {}", id, userId);
 
-        MenuItem menuItem = menuItemRepository.findById(id).orElseThrow(
+        MenuItem menuItem = menuItemRepository.findWithRestaurantById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Plat", "id", id)
         );
 
@@ -114,20 +148,17 @@ public class MenuItemServiceImpl implements MenuItemService {
 
         menuItemRepository.deleteById(id);
         log.info("Plat supprimé: {}", menuItem.getName());
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofItem(menuItem.getRestaurant().getId(), id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MenuItemResponse> getMenuItemsByRestaurant(Long restaurantId) {
         log.info("Récupération de tous les plats pour le restaurant: {}", restaurantId);
 
-        if (restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant", "id", restaurantId);
-        }
-
-        List<MenuItemResponse> menuItems = menuItemRepository.findByRestaurantIdOrderByDisplayOrderAscNameAsc(restaurantId)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        List<MenuItemResponse> menuItems = menuSnapshotCache.get(restaurantId)
+                .map(MenuSnapshot::items)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant", "id", restaurantId));
 
         log.info("Total des plats récupérés: {} pour le restaurant: {}", menuItems.size(),  restaurantId);
         return menuItems;
@@ -137,81 +168,102 @@ public class MenuItemServiceImpl implements MenuItemService {
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getMenuItemsByCategory(Long restaurantId, MenuCategory category) {
         log.info("Récupération  des plats pour le restaurant: {}, pour la catégorie: {}", restaurantId,  category);
-        return menuItemRepository.findByRestaurantIdAndCategoryOrderByDisplayOrderAscNameAsc(restaurantId, category)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        return menuSnapshotCache.get(restaurantId)
+                .map(snapshot -> snapshot.byCategory(category))
+                .orElse(List.of());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getAvailableMenuItems(Long restaurantId) {
         log.info("Récupération des plats disponibles pour le restaurant: {}", restaurantId);
-        return menuItemRepository.findByRestaurantIdAndAvailableTrueOrderByDisplayOrderAscNameAsc(restaurantId)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        return menuSnapshotCache.get(restaurantId)
+                .map(MenuSnapshot::available)
+                .orElse(List.of());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuItemResponse> searchMenuItems(Long restaurantId, String keyword) {
         log.info("Recherche du plat: {} pour le restaurant: {}", keyword, restaurantId);
-        return menuItemRepository.searchByName(restaurantId, keyword)
+        return menuSearchIndex.search(restaurantId, keyword, Integer.MAX_VALUE)
                 .stream()
-                .map(MenuItemResponse::fromEntity)
+                .map(MenuItemMatchResponse::getItem)
                 .toList();
     }
 
+    @Override
+    public List<MenuItemMatchResponse> searchMenuItemMatches(Long restaurantId, String keyword, int limit) {
+        log.debug("Recherche avec surlignage: {} pour le restaurant: {}", keyword, restaurantId);
+        return menuSearchIndex.search(restaurantId, keyword, limit);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getVegetarianItems(Long restaurantId) {
         log.info("Recherche de tous les plats végétarien pour le restaurant: {}", restaurantId);
-        return menuItemRepository.findByRestaurantIdAndVegetarianTrueAndAvailableTrueOrderByDisplayOrderAsc(restaurantId)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        return menuSnapshotCache.get(restaurantId)
+                .map(MenuSnapshot::vegetarian)
+                .orElse(List.of());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getVeganItems(Long restaurantId) {
         log.info("Recherche de tous les plats vegan pour le restaurant: {}", restaurantId);
-        return menuItemRepository.findByRestaurantIdAndVeganTrueAndAvailableTrueOrderByDisplayOrderAsc(restaurantId)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        return menuSnapshotCache.get(restaurantId)
+                .map(MenuSnapshot::vegan)
+                .orElse(List.of());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MenuItemResponse> getGlutenFreeItems(Long restaurantId) {
         log.info("Recherche de tous les plats sans gluten pour le restaurant: {}", restaurantId);
-        return menuItemRepository.findByRestaurantIdAndGlutenFreeTrueAndAvailableTrueOrderByDisplayOrderAsc(restaurantId)
-                .stream()
-                .map(MenuItemResponse::fromEntity)
-                .toList();
+        return menuSnapshotCache.get(restaurantId)
+                .map(MenuSnapshot::glutenFree)
+                .orElse(List.of());
     }
 
     @Override
+    @Transactional
     public MenuItemResponse toggleAvailability(Long id, Long userId, String role) {
 
         log.info("Mise à jour de la disponibilité du plat: {}", id);
 
-        MenuItem menuItem = menuItemRepository.findById(id).orElseThrow(
+        MenuItem menuItem = menuItemRepository.findWithRestaurantById(id).orElseThrow(
                 () ->  new ResourceNotFoundException("Plat", "id", id)
         );
 
         checkPermission(menuItem.getRestaurant(), userId, role);
 
         menuItem.setAvailable(!menuItem.getAvailable());
-        MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        MenuItem updatedMenuItem = menuItemRepository.saveAndFlush(menuItem);
 
         log.info("Disponibilité du plat: {} mise à jour !",  updatedMenuItem.getName());
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofItem(menuItem.getRestaurant().getId(), id));
 
         return MenuItemResponse.fromEntity(updatedMenuItem);
     }
 
+    private MenuItem toMenuItem(CreateMenuItemRequest request, Restaurant restaurant) {
+        return MenuItem.builder()
+                .name(request.getName())
+                .description(request.getDescription())
+                .price(request.getPrice())
+                .imageUrl(request.getImageUrl())
+                .allergens(request.getAllergens())
+                .nutritionalInfo(request.getNutritionalInfo())
+                .available(request.getAvailable())
+                .vegetarian(request.getVegetarian())
+                .vegan(request.getVegan())
+                .glutenFree(request.getGlutenFree())
+                .displayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : 0)
+                .restaurant(restaurant)
+                .category(request.getCategory())
+                .build();
+    }
+
     private void checkPermission(Restaurant restaurant, Long userId, String role) {
 
         if ("ROLE_ADMIN".equals(role) && !restaurant.getOwnerId().equals(userId)) {
@@ -1,37 +1,77 @@
 package com.restobook.restaurantservice.services.impl;
 
+import com.restobook.restaurantservice.caches.MenuSnapshot;
+import com.restobook.restaurantservice.caches.MenuSnapshotCache;
+import com.restobook.restaurantservice.caches.OpeningScheduleCache;
+import com.restobook.restaurantservice.caches.RestaurantFacets;
+import com.restobook.restaurantservice.caches.TopRatedRanking;
+import com.restobook.restaurantservice.caches.WeeklySchedule;
 import com.restobook.restaurantservice.dtos.request.CreateRestaurantRequest;
 import com.restobook.restaurantservice.dtos.request.OpeningHoursRequest;
 import com.restobook.restaurantservice.dtos.request.UpdateRestaurantRequest;
+import com.restobook.restaurantservice.dtos.response.FacetsResponse;
+import com.restobook.restaurantservice.dtos.response.OpenSlotsResponse;
 import com.restobook.restaurantservice.dtos.response.OpeningHoursResponse;
+import com.restobook.restaurantservice.dtos.response.MenuItemResponse;
+import com.restobook.restaurantservice.dtos.response.PageResponse;
+import com.restobook.restaurantservice.dtos.response.RatingResponse;
+import com.restobook.restaurantservice.dtos.response.RestaurantDetailsResponse;
 import com.restobook.restaurantservice.dtos.response.RestaurantResponse;
 import com.restobook.restaurantservice.entities.OpeningHour;
 import com.restobook.restaurantservice.entities.Restaurant;
 import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.events.MenuItemChangedEvent;
+import com.restobook.restaurantservice.events.OpeningHoursChangedEvent;
+import com.restobook.restaurantservice.events.RestaurantChangedEvent;
+import com.restobook.restaurantservice.exceptions.BusinessException;
 import com.restobook.restaurantservice.exceptions.ForbiddenException;
 import com.restobook.restaurantservice.exceptions.ResourceNotFoundException;
 import com.restobook.restaurantservice.repositories.OpeningHourRepository;
 import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
+import com.restobook.restaurantservice.repositories.projections.RestaurantView;
+import com.restobook.restaurantservice.search.RestaurantFullTextIndex;
 import com.restobook.restaurantservice.services.RestaurantService;
+import com.restobook.restaurantservice.utils.CursorCodec;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RestaurantServiceImpl implements RestaurantService {
 
+    /**
+     * Plage maximale d'une demande de créneaux ouverts
+     */
+    private static final Duration MAX_OPEN_SLOTS_RANGE = Duration.ofDays(31);
+
     private final RestaurantRepository restaurantRepository;
     private final OpeningHourRepository openingHourRepository;
+    private final RestaurantFullTextIndex fullTextIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OpeningScheduleCache openingScheduleCache;
+    private final TopRatedRanking topRatedRanking;
+    private final RestaurantFacets restaurantFacets;
+    private final MenuSnapshotCache menuSnapshotCache;
 
     @Override
     @Transactional
@@ -59,6 +99,9 @@ public class RestaurantServiceImpl implements RestaurantService {
         if (request.getOpeningHours() != null && !request.getOpeningHours().isEmpty()) {
             saveOpeningHours(savedRestaurant, request.getOpeningHours());
         }
+        // Même sans horaires : un identifiant interrogé avant la création ne doit pas rester "inconnu"
+        eventPublisher.publishEvent(new OpeningHoursChangedEvent(savedRestaurant.getId()));
+        eventPublisher.publishEvent(new RestaurantChangedEvent(savedRestaurant.getId()));
 
         return RestaurantResponse.fromEntity(savedRestaurant);
     }
@@ -68,12 +111,44 @@ public class RestaurantServiceImpl implements RestaurantService {
     public RestaurantResponse getRestaurantById(Long id) {
         log.debug("Récupération d'un restaurant avec ID: {}", id);
 
-        Restaurant restaurant = restaurantRepository.findById(id).orElseThrow(
+        RestaurantView restaurant = restaurantRepository.findViewById(id).orElseThrow(
                 () -> new ResourceNotFoundException("Restaurant", "id", id)
         );
-        log.info("Restaurant trouvé: {}", restaurant);
+        log.info("Restaurant trouvé: {}", restaurant.name());
+
+        return RestaurantResponse.fromView(restaurant);
+    }
 
-        return RestaurantResponse.fromEntity(restaurant);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getRestaurantVersion(Long id) {
+        return restaurantRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RestaurantDetailsResponse getRestaurantDetails(Long id) {
+        log.debug("Récupération de la page du restaurant: {}", id);
+
+        RestaurantView restaurant = restaurantRepository.findViewById(id).orElseThrow(
+                () -> new ResourceNotFoundException("Restaurant", "id", id)
+        );
+
+        RestaurantResponse response = RestaurantResponse.fromView(restaurant);
+        response.setOpeningHours(openingHourRepository.findViewsByRestaurantId(id)
+                .stream()
+                .map(OpeningHoursResponse::fromView)
+                .toList());
+
+        // Menu servi par le cache des menus (aucune requête s'il est déjà chargé)
+        List<MenuItemResponse> menu = menuSnapshotCache.get(id)
+                .map(MenuSnapshot::available)
+                .orElse(List.of());
+
+        return RestaurantDetailsResponse.builder()
+                .restaurant(response)
+                .menu(menu)
+                .build();
     }
 
     @Override
@@ -118,8 +193,10 @@ public class RestaurantServiceImpl implements RestaurantService {
             restaurant.setTotalCapacity(request.getTotalCapacity());
         }
 
-        Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+        // Flush avant la réponse : version et date de mise à jour y sont celles de l'ETag des lectures suivantes
+        Restaurant updatedRestaurant = restaurantRepository.saveAndFlush(restaurant);
         log.info("Restaurant mise à jour: {}", id);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id));
 
         return RestaurantResponse.fromEntity(updatedRestaurant);
     }
@@ -136,22 +213,34 @@ public class RestaurantServiceImpl implements RestaurantService {
         checkPermission(restaurant, userId, role);
         restaurantRepository.delete(restaurant);
         log.info("Restaurant deleted: {}", id);
-
+        eventPublisher.publishEvent(MenuItemChangedEvent.ofRestaurant(id));
+        eventPublisher.publishEvent(new OpeningHoursChangedEvent(id));
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<@NonNull RestaurantResponse> getAllRestaurants(Pageable pageable) {
         log.debug("Récupération de tous les restaurants actifs");
-        return restaurantRepository.findByActiveTrue(pageable)
-                .map(RestaurantResponse::fromEntity);
+        return restaurantRepository.findViewsByActiveTrue(pageable)
+                .map(RestaurantResponse::fromView);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<@NonNull RestaurantResponse> searchRestaurants(String keyword, Pageable pageable) {
         log.debug("Recherche des restaurants avec le mot-clé: {}", keyword);
-        return restaurantRepository.searchRestaurants(keyword, pageable)
+
+        String query = fullTextIndex.isAvailable() ? fullTextIndex.toBooleanQuery(keyword) : null;
+        if (query == null) {
+            // Index absent ou mots trop courts pour l'index
+            return restaurantRepository.searchRestaurants(keyword, pageable)
+                    .map(RestaurantResponse::fromView);
+        }
+
+        // Résultats triés par pertinence : le tri demandé par le client est ignoré
+        Pageable ranked = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return restaurantRepository.searchRestaurantsFullText(query, ranked)
                 .map(RestaurantResponse::fromEntity);
     }
 
@@ -159,16 +248,42 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Transactional(readOnly = true)
     public Page<@NonNull RestaurantResponse> getRestaurantsByCity(String city, Pageable pageable) {
         log.debug("Récupération des restaurants de la ville: {}", city);
-        return restaurantRepository.findByCityIgnoreCaseAndActiveTrue(city, pageable)
-                .map(RestaurantResponse::fromEntity);
+        return restaurantRepository.findViewsByCityIgnoreCaseAndActiveTrue(city, pageable)
+                .map(RestaurantResponse::fromView);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<@NonNull RestaurantResponse> getRestaurantsByCuisineType(String cuisineType, Pageable pageable) {
         log.debug("Récupération des restaurants de type cuisine: {}", cuisineType);
-        return restaurantRepository.findByCuisineTypeIgnoreCaseAndActiveTrue(cuisineType, pageable)
-                .map(RestaurantResponse::fromEntity);
+        return restaurantRepository.findViewsByCuisineTypeIgnoreCaseAndActiveTrue(cuisineType, pageable)
+                .map(RestaurantResponse::fromView);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<RestaurantResponse> scrollRestaurants(String city, String cuisineType, Double minRating, String cursor, int size) {
+        log.debug("Parcours des restaurants par curseur. City: {}, type de cuisine: {}, note: {}", city, cuisineType, minRating);
+
+        CursorCodec.Cursor after = cursor != null && !cursor.isBlank() ? CursorCodec.decode(cursor) : null;
+
+        // Un élément de plus pour savoir s'il existe une page suivante
+        List<RestaurantView> restaurants = restaurantRepository.scrollByFilters(
+                city, cuisineType, minRating,
+                after != null ? after.sortKey() : null,
+                after != null ? after.id() : null,
+                Limit.of(size + 1));
+
+        boolean hasNext = restaurants.size() > size;
+        List<RestaurantView> page = hasNext ? restaurants.subList(0, size) : restaurants;
+
+        String nextCursor = null;
+        if (hasNext) {
+            RestaurantView last = page.getLast();
+            nextCursor = CursorCodec.encode(last.name(), last.id());
+        }
+
+        return PageResponse.ofCursor(page.stream().map(RestaurantResponse::fromView).toList(), size, nextCursor);
     }
 
     @Override
@@ -176,23 +291,32 @@ public class RestaurantServiceImpl implements RestaurantService {
     public Page<@NonNull RestaurantResponse> getRestaurantsByFilters(String city, String cuisineType, Double minRating, Pageable pageable) {
         log.debug("Recherche avancés des restaurants avec les filtres. City: {}, type de cuisine: {}, note: {}", city, cuisineType, minRating);
         return restaurantRepository.findByFilters(city, cuisineType, minRating, pageable)
-                .map(RestaurantResponse::fromEntity);
+                .map(RestaurantResponse::fromView);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<@NonNull RestaurantResponse> getTopRatedRestaurants(Pageable pageable) {
-        log.debug("Récupération des restaurants les mieux notés");
-        return restaurantRepository.findTopRated(pageable)
-                .map(RestaurantResponse::fromEntity);
+    public Page<@NonNull RestaurantResponse> getTopRatedRestaurants(String city, Pageable pageable) {
+        log.debug("Récupération des restaurants les mieux notés. City: {}", city);
+
+        // Classement trié par note : le tri demandé par le client est ignoré
+        Pageable ranked = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        if (topRatedRanking.isReady()) {
+            return topRatedRanking.page(city, ranked);
+        }
+
+        Page<@NonNull RestaurantView> restaurants = city == null || city.isBlank()
+                ? restaurantRepository.findTopRated(ranked)
+                : restaurantRepository.findTopRatedByCity(city.trim(), ranked);
+        return restaurants.map(RestaurantResponse::fromView);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<@NonNull RestaurantResponse> getRestaurantsByOwner(Long ownerId, Pageable pageable) {
         log.debug("Récupération des restaurants du propriétaire: {}", ownerId);
-        return restaurantRepository.findByOwnerId(ownerId, pageable)
-                .map(RestaurantResponse::fromEntity);
+        return restaurantRepository.findViewsByOwnerId(ownerId, pageable)
+                .map(RestaurantResponse::fromView);
     }
 
     @Override
@@ -200,12 +324,13 @@ public class RestaurantServiceImpl implements RestaurantService {
     public List<OpeningHoursResponse> getOpeningHours(Long restaurantId) {
         log.debug("Récupération des horaires d'ouverture du restaurant: {}", restaurantId);
 
-        if (!restaurantRepository.existsById(restaurantId)) {
+        List<OpeningHourView> openingHours = openingHourRepository.findViewsByRestaurantId(restaurantId);
+        // Vérification de l'existence seulement lorsque le restaurant n'a pas d'horaires
+        if (openingHours.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
             throw new ResourceNotFoundException("Restaurant", "id", restaurantId);
         }
-        return openingHourRepository.findByRestaurantIdOrderByDayOfWeek(restaurantId)
-                .stream()
-                .map(OpeningHoursResponse::fromEntity)
+        return openingHours.stream()
+                .map(OpeningHoursResponse::fromView)
                 .toList();
     }
 
@@ -222,10 +347,11 @@ public class RestaurantServiceImpl implements RestaurantService {
 
         openingHourRepository.deleteByRestaurantId(restaurantId);
         saveOpeningHours(restaurant, requests);
+        eventPublisher.publishEvent(new OpeningHoursChangedEvent(restaurantId));
 
-        return openingHourRepository.findByRestaurantIdOrderByDayOfWeek(restaurantId)
+        return openingHourRepository.findViewsByRestaurantId(restaurantId)
                 .stream()
-                .map(OpeningHoursResponse::fromEntity)
+                .map(OpeningHoursResponse::fromView)
                 .toList();
     }
 
@@ -239,9 +365,10 @@ public class RestaurantServiceImpl implements RestaurantService {
         );
 
         restaurant.setActive(true);
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.saveAndFlush(restaurant);
 
         log.info("Restaurant activé: {}", savedRestaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id));
         return RestaurantResponse.fromEntity(savedRestaurant);
     }
 
@@ -255,30 +382,58 @@ public class RestaurantServiceImpl implements RestaurantService {
         );
 
         restaurant.setActive(false);
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.saveAndFlush(restaurant);
 
         log.info("Restaurant désactivé: {}", savedRestaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id));
         return RestaurantResponse.fromEntity(savedRestaurant);
     }
 
     @Override
+    @Transactional
     public void updateRestaurantRating(Long restaurantId, Double newRating, Integer totalReviews) {
         log.info("Mise à jour de la note du restaurant: {}", restaurantId);
 
-        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow(
+        if (newRating == null || newRating < 0 || newRating > 5 || totalReviews == null || totalReviews < 0) {
+            throw new BusinessException("La note doit être comprise entre 0 et 5 et le nombre d'avis positif",
+                    HttpStatus.BAD_REQUEST, "INVALID_RATING");
+        }
+
+        if (restaurantRepository.updateRating(restaurantId, newRating, totalReviews, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Restaurant", "id", restaurantId);
+        }
+        log.info("Note du restaurant: {} mise à jour", restaurantId);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+    }
+
+    @Override
+    @Transactional
+    public RatingResponse addReviewScore(Long restaurantId, int score) {
+        log.info("Nouvel avis ({}) pour le restaurant: {}", score, restaurantId);
+
+        if (restaurantRepository.addReviewScore(restaurantId, score, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Restaurant", "id", restaurantId);
+        }
+        eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId));
+
+        // Relu après l'UPDATE, dans la même transaction (ligne verrouillée jusqu'au commit)
+        RestaurantView restaurant = restaurantRepository.findViewById(restaurantId).orElseThrow(
                 () -> new ResourceNotFoundException("Restaurant", "id", restaurantId)
         );
-
-        restaurant.setAverageRating(newRating);
-        restaurant.setTotalReviews(totalReviews);
-        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
-        log.info("Note du restaurant: {} mise à jour",  savedRestaurant.getName());
+        return RatingResponse.builder()
+                .restaurantId(restaurantId)
+                .averageRating(restaurant.averageRating())
+                .totalReviews(restaurant.totalReviews())
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<String> getAllCities() {
         log.info("Recherche des villes de restaurants");
+        if (restaurantFacets.isReady()) {
+            return List.copyOf(restaurantFacets.get().getCities().keySet());
+        }
         return restaurantRepository.findDistinctCities();
     }
 
@@ -286,9 +441,24 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Transactional(readOnly = true)
     public List<String> getAllCuisineTypes() {
         log.info("Recherche des types de cuisines des restaurants");
+        if (restaurantFacets.isReady()) {
+            return List.copyOf(restaurantFacets.get().getCuisineTypes().keySet());
+        }
         return restaurantRepository.findDistinctCuisineTypes();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FacetsResponse getFacets() {
+        log.debug("Récupération des facettes des restaurants");
+        if (restaurantFacets.isReady()) {
+            return restaurantFacets.get();
+        }
+
+        // Facettes pas encore construites : calcul direct, même regroupement (casse et accents)
+        return RestaurantFacets.of(restaurantRepository.findActiveFacetValues());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean restaurantExists(Long id) {
@@ -301,36 +471,86 @@ public class RestaurantServiceImpl implements RestaurantService {
     public Integer getRestaurantCapacity(Long id) {
         log.info("Obtention de la capacité du restaurant {}:", id);
 
-        return restaurantRepository.findById(id)
-                .map(Restaurant::getTotalReviews)
+        return restaurantRepository.findTotalCapacityById(id)
                 .orElse(0);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, RestaurantResponse> getRestaurantsByIds(List<Long> ids) {
+        log.debug("Récupération groupée de {} restaurants", ids.size());
+
+        Map<Long, RestaurantResponse> restaurants = restaurantRepository.findViewsByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(RestaurantView::id, RestaurantResponse::fromView));
+
+        // Ordre de la demande, les identifiants inconnus sont absents
+        Map<Long, RestaurantResponse> ordered = new LinkedHashMap<>();
+        ids.stream().distinct()
+                .filter(restaurants::containsKey)
+                .forEach(id -> ordered.put(id, restaurants.get(id)));
+        return ordered;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean isRestaurantOpen(Long id, DayOfWeek dayOfWeek, LocalTime time) {
-        log.info("Vérifier les heures d'ouvertures d'un restaurant");
+        log.debug("Vérifier les heures d'ouvertures d'un restaurant");
+        return openingScheduleCache.get(id).isOpen(dayOfWeek, time);
+    }
 
-        DayOfWeek day = DayOfWeek.valueOf(dayOfWeek.name());
+    @Override
+    public Map<Long, Boolean> areRestaurantsOpen(List<Long> ids, DayOfWeek dayOfWeek, LocalTime time) {
+        log.debug("Vérification groupée de l'ouverture de {} restaurants", ids.size());
+
+        Map<Long, WeeklySchedule> schedules = openingScheduleCache.getAll(ids);
+        // Ordre de la demande, les identifiants inconnus sont absents (fermé ≠ inexistant)
+        Map<Long, Boolean> open = new LinkedHashMap<>();
+        ids.stream().distinct()
+                .filter(id -> schedules.get(id).restaurantExists())
+                .forEach(id -> open.put(id, schedules.get(id).isOpen(dayOfWeek, time)));
+        return open;
+    }
+
+    @Override
+    public OpenSlotsResponse getOpenSlots(Long id, LocalDateTime from, LocalDateTime to) {
+        log.debug("Créneaux ouverts du restaurant {} entre {} et {}", id, from, to);
+
+        if (!from.isBefore(to)) {
+            throw new BusinessException("La date de début doit précéder la date de fin", HttpStatus.BAD_REQUEST, "INVALID_RANGE");
+        }
+        if (Duration.between(from, to).compareTo(MAX_OPEN_SLOTS_RANGE) > 0) {
+            throw new BusinessException("La plage demandée ne peut pas dépasser 31 jours", HttpStatus.BAD_REQUEST, "INVALID_RANGE");
+        }
 
-        Optional<OpeningHour> hour = openingHourRepository.findByRestaurantIdAndDayOfWeek(id, day);
+        WeeklySchedule schedule = openingScheduleCache.get(id);
+        if (!schedule.restaurantExists()) {
+            throw new ResourceNotFoundException("Restaurant", "id", id);
+        }
 
-        return hour.map(h -> h.isOpenAt(time)).orElse(false);
+        return OpenSlotsResponse.builder()
+                .restaurantId(id)
+                .from(from)
+                .to(to)
+                .slotMinutes(WeeklySchedule.SLOT_MINUTES)
+                .slots(schedule.openSlots(from, to))
+                .build();
     }
 
     private void saveOpeningHours(Restaurant restaurant, List<OpeningHoursRequest> requests) {
-        for (OpeningHoursRequest request : requests) {
-            OpeningHour openingHours = OpeningHour.builder()
-                    .restaurant(restaurant)
-                    .dayOfWeek(request.getDayOfWeek())
-                    .openingTimeMorning(request.getOpeningTimeMorning())
-                    .closingTimeMorning(request.getClosingTimeMorning())
-                    .openingTimeEvening(request.getOpeningTimeEvening())
-                    .closingTimeEvening(request.getClosingTimeEvening())
-                    .closed(request.getClosed())
-                    .build();
-            openingHourRepository.save(openingHours);
-        }
+        List<OpeningHour> openingHours = requests.stream()
+                .map(request -> OpeningHour.builder()
+                        .restaurant(restaurant)
+                        .dayOfWeek(request.getDayOfWeek())
+                        .openingTimeMorning(request.getOpeningTimeMorning())
+                        .closingTimeMorning(request.getClosingTimeMorning())
+                        .openingTimeEvening(request.getOpeningTimeEvening())
+                        .closingTimeEvening(request.getClosingTimeEvening())
+                        .closed(request.getClosed())
+                        .build())
+                .toList();
+        // Un seul lot d'INSERT au flush
+        openingHourRepository.saveAll(openingHours);
     }
 
     private void checkPermission(Restaurant restaurant, Long userId, String role) {
@@ -0,0 +1,48 @@
+package com.restobook.restaurantservice.utils;
+
+import com.restobook.restaurantservice.configs.HttpCacheProperties;
+import com.restobook.restaurantservice.dtos.response.ApiResponse;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Réponses publiques cacheables : Cache-Control et ETag (If-None-Match → 304 sans corps)
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedResponses {
+
+    private final HttpCacheProperties httpCacheProperties;
+
+    public <T> ResponseEntity<@NonNull ApiResponse<T>> ok(T data) {
+        return ok(data, ETags.strong(data));
+    }
+
+    public <T> ResponseEntity<@NonNull ApiResponse<T>> ok(T data, String eTag) {
+        return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl())
+                .eTag(eTag)
+                .body(ApiResponse.success(data));
+    }
+
+    /**
+     * 304 dès que l'ETag courant, lu sans charger la ressource, correspond à If-None-Match ;
+     * sinon la réponse est construite. Un ETag courant null (version inconnue) charge toujours.
+     */
+    public <T> ResponseEntity<@NonNull ApiResponse<T>> unlessNotModified(
+            WebRequest request, String currentETag, Supplier<ResponseEntity<@NonNull ApiResponse<T>>> response) {
+        if (currentETag != null && request.checkNotModified(currentETag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(httpCacheProperties.cacheControl())
+                    .eTag(currentETag)
+                    .build();
+        }
+        return response.get();
+    }
+}
@@ -0,0 +1,34 @@
+package com.restobook.restaurantservice.utils;
+
+import com.restobook.restaurantservice.exceptions.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination opaque : (clé de tri, id) du dernier élément renvoyé, encodé en base64url.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String sortKey, Long id) {
+        String raw = id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Curseur de pagination invalide", HttpStatus.BAD_REQUEST, "INVALID_CURSOR");
+        }
+    }
+
+    public record Cursor(String sortKey, Long id) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.restobook.restaurantservice.utils;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * ETags forts : version d'une entité, ou empreinte du contenu JSON des données
+ * (hors enveloppe ApiResponse et son horodatage)
+ */
+public final class ETags {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private ETags() {
+    }
+
+    /**
+     * ETag d'une entité versionnée (@Version), sans sérialisation ; empreinte du contenu si la version est inconnue
+     */
+    public static String versioned(String type, Long id, Long version, Object data) {
+        if (version == null) {
+            return strong(data);
+        }
+        return versioned(type, id, version);
+    }
+
+    /**
+     * ETag d'une version lue seule (sans la ressource), identique à celui de la réponse complète
+     */
+    public static String versioned(String type, Long id, long version) {
+        return "\"" + type + "-" + id + "-v" + version + "\"";
+    }
+
+    public static String strong(Object data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(OBJECT_MAPPER.writeValueAsString(data).getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
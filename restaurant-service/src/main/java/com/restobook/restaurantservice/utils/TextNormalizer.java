@@ -0,0 +1,36 @@
+package com.restobook.restaurantservice.utils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation du texte pour la recherche : minuscules, sans accents ("Orléans" → "orleans").
+ */
+public final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Découpe un texte normalisé en mots (lettres et chiffres uniquement)
+     */
+    public static List<String> tokenize(String text) {
+        return Arrays.stream(SEPARATORS.split(fold(text)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+}
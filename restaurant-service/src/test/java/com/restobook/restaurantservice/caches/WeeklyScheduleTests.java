@@ -0,0 +1,69 @@
+package com.restobook.restaurantservice.caches;
+
+import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.repositories.projections.OpeningHourView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Créneaux réservables : un quart d'heure doit tenir entièrement dans les horaires d'ouverture
+ */
+class WeeklyScheduleTests {
+
+    // Lundi 5 janvier 2026
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 1, 5, 0, 0);
+
+    @Test
+    void lunchIntervalOffersSlotsFromOpeningUntilLastQuarterBeforeClosing() {
+        WeeklySchedule schedule = schedule(LocalTime.of(12, 0), LocalTime.of(14, 0), null, null);
+
+        List<LocalDateTime> slots = schedule.openSlots(MONDAY.withHour(11), MONDAY.withHour(15));
+
+        assertThat(slots).hasSize(8);
+        assertThat(slots.getFirst()).isEqualTo(MONDAY.withHour(12));
+        assertThat(slots.getLast()).isEqualTo(MONDAY.withHour(13).withMinute(45));
+        assertThat(slots).doesNotContain(MONDAY.withHour(14));
+    }
+
+    @Test
+    void partialQuarterAtOpeningOrClosingIsNotOffered() {
+        WeeklySchedule schedule = schedule(LocalTime.of(12, 10), LocalTime.of(13, 50), null, null);
+
+        List<LocalDateTime> slots = schedule.openSlots(MONDAY.withHour(12), MONDAY.withHour(14));
+
+        assertThat(slots.getFirst()).isEqualTo(MONDAY.withHour(12).withMinute(15));
+        assertThat(slots.getLast()).isEqualTo(MONDAY.withHour(13).withMinute(30));
+    }
+
+    @Test
+    void firstAndLastSlotsOfTheDay() {
+        WeeklySchedule schedule = schedule(LocalTime.MIDNIGHT, LocalTime.of(0, 30),
+                LocalTime.of(23, 0), LocalTime.of(23, 59));
+
+        List<LocalDateTime> slots = schedule.openSlots(MONDAY, MONDAY.plusDays(1));
+
+        assertThat(slots).containsExactly(MONDAY, MONDAY.withMinute(15),
+                MONDAY.withHour(23), MONDAY.withHour(23).withMinute(15), MONDAY.withHour(23).withMinute(30));
+    }
+
+    @Test
+    void instantCheckKeepsExactIntervalRule() {
+        WeeklySchedule schedule = schedule(LocalTime.of(12, 0), LocalTime.of(14, 0), null, null);
+
+        assertThat(schedule.isOpen(DayOfWeek.MONDAY, LocalTime.of(12, 0))).isFalse();
+        assertThat(schedule.isOpen(DayOfWeek.MONDAY, LocalTime.of(13, 0))).isTrue();
+        assertThat(schedule.isOpen(DayOfWeek.MONDAY, LocalTime.of(14, 0))).isTrue();
+    }
+
+    private static WeeklySchedule schedule(LocalTime morningOpening, LocalTime morningClosing,
+                                           LocalTime eveningOpening, LocalTime eveningClosing) {
+        OpeningHourView monday = new OpeningHourView(1L, 1L, DayOfWeek.MONDAY,
+                morningOpening, morningClosing, eveningOpening, eveningClosing, false);
+        return new WeeklySchedule(true, List.of(monday), System.nanoTime());
+    }
+}
@@ -0,0 +1,171 @@
+package com.restobook.restaurantservice.services;
+
+import com.restobook.restaurantservice.caches.MenuSnapshotCache;
+import com.restobook.restaurantservice.entities.MenuItem;
+import com.restobook.restaurantservice.entities.OpeningHour;
+import com.restobook.restaurantservice.entities.Restaurant;
+import com.restobook.restaurantservice.enums.DayOfWeek;
+import com.restobook.restaurantservice.enums.MenuCategory;
+import com.restobook.restaurantservice.repositories.MenuItemRepository;
+import com.restobook.restaurantservice.repositories.OpeningHourRepository;
+import com.restobook.restaurantservice.repositories.RestaurantRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre de requêtes SQL par consultation : les projections ne déclenchent aucun chargement paresseux.
+ * Exécuté sur la base H2 en mémoire du profil de test.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ReadQueryCountTests {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private OpeningHourRepository openingHourRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Restaurant restaurant;
+    private MenuItem menuItem;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        restaurant = restaurantRepository.save(Restaurant.builder()
+                .name("Le Test")
+                .address("1 rue du Test")
+                .city("Lyon")
+                .postalCode("69001")
+                .phone("0400000000")
+                .email("test@restobook.fr")
+                .cuisineType("Française")
+                .totalCapacity(40)
+                .ownerId(1L)
+                .build());
+
+        openingHourRepository.saveAll(List.of(
+                openingHour(DayOfWeek.MONDAY),
+                openingHour(DayOfWeek.TUESDAY)));
+
+        List<MenuItem> items = menuItemRepository.saveAll(List.of(
+                menuItem("Quiche", MenuCategory.STARTER),
+                menuItem("Tarte", MenuCategory.DESSERT),
+                menuItem("Salade", MenuCategory.STARTER)));
+        menuItem = items.getFirst();
+
+        menuSnapshotCache.evict(restaurant.getId());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        restaurantRepository.deleteById(restaurant.getId());
+        menuSnapshotCache.evict(restaurant.getId());
+    }
+
+    @Test
+    void restaurantReads() {
+        restaurantService.getRestaurantById(restaurant.getId());
+        assertQueries(1);
+
+        restaurantService.getRestaurantsByIds(List.of(restaurant.getId()));
+        assertQueries(1);
+
+        restaurantService.scrollRestaurants("Lyon", null, null, null, 20);
+        assertQueries(1);
+
+        restaurantService.getRestaurantCapacity(restaurant.getId());
+        assertQueries(1);
+
+        restaurantService.getOpeningHours(restaurant.getId());
+        assertQueries(1);
+
+        // Page et COUNT au plus
+        restaurantService.getAllRestaurants(PageRequest.of(0, 10));
+        assertMaxQueries(2);
+
+        restaurantService.getRestaurantsByCity("Lyon", PageRequest.of(0, 10));
+        assertMaxQueries(2);
+
+        restaurantService.getRestaurantsByFilters("Lyon", null, null, PageRequest.of(0, 10));
+        assertMaxQueries(2);
+
+        restaurantService.getRestaurantsByOwner(1L, PageRequest.of(0, 10));
+        assertMaxQueries(2);
+    }
+
+    @Test
+    void menuReads() {
+        menuItemService.getMenuItemById(menuItem.getId());
+        assertQueries(1);
+
+        // Menu chargé en une requête, puis servi par le cache
+        assertThat(menuItemService.getMenuItemsByRestaurant(restaurant.getId())).hasSize(3);
+        assertQueries(1);
+
+        menuItemService.getAvailableMenuItems(restaurant.getId());
+        menuItemService.getVegetarianItems(restaurant.getId());
+        assertQueries(0);
+    }
+
+    private void assertQueries(long expected) {
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        statistics.clear();
+    }
+
+    private void assertMaxQueries(long max) {
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(max);
+        statistics.clear();
+    }
+
+    private OpeningHour openingHour(DayOfWeek dayOfWeek) {
+        return OpeningHour.builder()
+                .restaurant(restaurant)
+                .dayOfWeek(dayOfWeek)
+                .openingTimeMorning(LocalTime.of(11, 30))
+                .closingTimeMorning(LocalTime.of(14, 30))
+                .closed(false)
+                .build();
+    }
+
+    private MenuItem menuItem(String name, MenuCategory category) {
+        return MenuItem.builder()
+                .restaurant(restaurant)
+                .name(name)
+                .price(new BigDecimal("12.50"))
+                .category(category)
+                .build();
+    }
+}